@@ -0,0 +1,27 @@
+package eu.pb4.placeholders.api;
+
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Placeholder handler resolving all its requests needed by a render at once, allowing it to share expensive setup
+ * (like database queries) between them. It's used for every distinct pair of context and argument found in text
+ * rendered with {@link Placeholders#parseText(net.minecraft.text.Text, PlaceholderContext)} or
+ * {@link Placeholders#parseTexts(net.minecraft.text.Text, List)}. In other cases requests are handled one by one.
+ */
+@FunctionalInterface
+public interface BatchPlaceholderHandler extends PlaceholderHandler {
+    /**
+     * @return results in the same order as requests
+     */
+    List<PlaceholderResult> onPlaceholderRequests(List<Request> requests);
+
+    @Override
+    default PlaceholderResult onPlaceholderRequest(PlaceholderContext context, @Nullable String argument) {
+        return this.onPlaceholderRequests(List.of(new Request(context, argument))).get(0);
+    }
+
+    record Request(PlaceholderContext context, @Nullable String argument) {}
+}
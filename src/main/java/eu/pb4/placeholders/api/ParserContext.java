@@ -2,34 +2,126 @@ package eu.pb4.placeholders.api;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class ParserContext {
-    private final Map<Key<?>, Object> map = new HashMap<>();
+    private static final Object[] EMPTY = new Object[0];
+    private Object[] values;
+    @Nullable
+    private Map<Key<?>, Object> overflow;
 
-    private ParserContext() {}
+    private ParserContext(Object[] values) {
+        this.values = values;
+    }
 
     public static ParserContext of() {
-        return new ParserContext();
+        return new ParserContext(EMPTY);
     }
 
     public static <T> ParserContext of(Key<T> key, T object) {
-        return new ParserContext().with(key, object);
+        return new ParserContext(EMPTY).with(key, object);
     }
 
     public <T> ParserContext with(Key<T> key, T object) {
-        this.map.put(key, object);
+        var slot = key.slot;
+        if (slot < 0) {
+            if (this.overflow == null) {
+                this.overflow = new HashMap<>();
+            }
+            this.overflow.put(key, object);
+            return this;
+        } else if (slot >= this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(slot + 1, Key.SLOT_COUNT.get()));
+        }
+        this.values[slot] = object;
         return this;
     }
 
     @Nullable
     public <T> T get(Key<T> key) {
-        return (T) this.map.get(key);
+        var slot = key.slot;
+        if (slot < 0) {
+            return this.overflow != null ? (T) this.overflow.get(key) : null;
+        }
+        return slot < this.values.length ? (T) this.values[slot] : null;
     };
 
+    /**
+     * Creates independent copy of this context, which can be modified without affecting this one.
+     */
+    public ParserContext copy() {
+        var context = new ParserContext(this.values.length == 0 ? EMPTY : this.values.clone());
+        if (this.overflow != null) {
+            context.overflow = new HashMap<>(this.overflow);
+        }
+        return context;
+    }
 
-    public record Key<T>(String key, Class<T> type) {
+    /**
+     * Removes all values, allowing this context to be reused.
+     */
+    public ParserContext clear() {
+        Arrays.fill(this.values, null);
+        this.overflow = null;
+        return this;
+    }
+
+    /**
+     * Key used to store values in ParserContext. Each unique pair of key and type is assigned its own slot,
+     * so keys created multiple times with same values still access same entry. Only first 64 pairs get a slot,
+     * with values of later ones being kept in a map of context.
+     */
+    public static final class Key<T> {
+        private static final int MAX_SLOTS = 64;
+        private static final ConcurrentMap<Key<?>, Integer> SLOTS = new ConcurrentHashMap<>();
+        private static final AtomicInteger SLOT_COUNT = new AtomicInteger();
         public static final Key<Boolean> COMPACT_TEXT = new Key<>("compact_text", Boolean.class);
+
+        private final String key;
+        private final Class<T> type;
+        private final int slot;
+
+        public Key(String key, Class<T> type) {
+            this.key = key;
+            this.type = type;
+            var slot = SLOTS.computeIfAbsent(this, x -> {
+                var next = SLOT_COUNT.getAndUpdate(i -> Math.min(i + 1, MAX_SLOTS));
+                return next < MAX_SLOTS ? next : null;
+            });
+            this.slot = slot != null ? slot : -1;
+        }
+
+        public String key() {
+            return this.key;
+        }
+
+        public Class<T> type() {
+            return this.type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            return o instanceof Key<?> other && this.key.equals(other.key) && this.type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.key, this.type);
+        }
+
+        @Override
+        public String toString() {
+            return "Key[key=" + this.key + ", type=" + this.type + "]";
+        }
     };
 }
@@ -1,6 +1,7 @@
 package eu.pb4.placeholders.api;
 
 import com.mojang.authlib.GameProfile;
+import eu.pb4.placeholders.impl.placeholder.PlaceholderContextCache;
 import eu.pb4.placeholders.impl.placeholder.ViewObjectImpl;
 import net.minecraft.entity.Entity;
 import net.minecraft.server.MinecraftServer;
@@ -90,6 +91,31 @@ public record PlaceholderContext(MinecraftServer server,
         return new PlaceholderContext(player.getServer(), player.getCommandSource(), player.getWorld(), player, player, player.getGameProfile(), view);
     }
 
+    /**
+     * Returns cached context of player, which is reused until player changes world, disconnects
+     * or their permission level changes. Keep in mind that position and rotation of its command source
+     * are the ones from time it was created.
+     */
+    public static PlaceholderContext cached(ServerPlayerEntity player) {
+        return cached(player, ViewObject.DEFAULT);
+    }
+
+    public static PlaceholderContext cached(ServerPlayerEntity player, ViewObject view) {
+        return PlaceholderContextCache.get(player, view);
+    }
+
+    /**
+     * Returns cached context of game profile, which is reused until permission level of it changes
+     * or server stops.
+     */
+    public static PlaceholderContext cached(GameProfile profile, MinecraftServer server) {
+        return cached(profile, server, ViewObject.DEFAULT);
+    }
+
+    public static PlaceholderContext cached(GameProfile profile, MinecraftServer server, ViewObject view) {
+        return PlaceholderContextCache.get(profile, server, view);
+    }
+
     public static PlaceholderContext of(ServerCommandSource source) {
         return of(source, ViewObject.DEFAULT);
     }
@@ -0,0 +1,19 @@
+package eu.pb4.placeholders.api;
+
+
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Provides handlers for whole namespace or path prefix, allowing to expose dynamic families of placeholders
+ * without registering every one of them. Handler returned for an identifier is cached until placeholders change,
+ * so it should depend only on the identifier.
+ */
+@FunctionalInterface
+public interface PlaceholderProvider {
+    /**
+     * @return handler for identifier or null, if provider doesn't have placeholder with it
+     */
+    @Nullable
+    PlaceholderHandler getPlaceholder(Identifier identifier);
+}
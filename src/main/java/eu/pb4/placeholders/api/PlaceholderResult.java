@@ -1,23 +1,48 @@
 package eu.pb4.placeholders.api;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import eu.pb4.placeholders.impl.format.NumberFormatter;
 import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Result of a placeholder. Besides text it can carry a typed value (long, double, boolean or duration),
+ * which can be read by consumers comparing values without parsing them back from text.
+ * Text and its string form are only created once they are requested.
+ */
 public final class PlaceholderResult {
-    private final Text text;
-    private final String string;
+    private static final Style INVALID_STYLE = Style.EMPTY.withColor(Formatting.GRAY).withItalic(true);
+    private static final PlaceholderResult INVALID = new PlaceholderResult(null, null, null, false, 0);
+    private static final PlaceholderResult EMPTY = new PlaceholderResult(Text.empty(), null, null, true, 0);
+    private static final Map<String, PlaceholderResult> INVALID_WITH_REASON = CacheBuilder.newBuilder().maximumSize(256).<String, PlaceholderResult>build().asMap();
+    private static final Cache<String, TextNode> MARKUP_CACHE = CacheBuilder.newBuilder().maximumSize(1024).build();
+
+    private volatile Text text;
+    private volatile String string;
+    /**
+     * Unparsed text of {@link #formatted(String)} or reason of invalid result
+     */
+    @Nullable
+    private final String source;
+    @Nullable
+    private final Object value;
+    private final int decimals;
     private final boolean valid;
 
-    private PlaceholderResult(Text text, String reason) {
-        if (text != null) {
-            this.text = text;
-            this.valid = true;
-        } else {
-            this.text = Text.literal("[" + (reason != null ? reason : "Invalid placeholder!") + "]").setStyle(Style.EMPTY.withColor(Formatting.GRAY).withItalic(true));
-            this.valid = false;
-        }
-        this.string = this.text.getString();
+    private PlaceholderResult(@Nullable Text text, @Nullable String source, @Nullable Object value, boolean valid, int decimals) {
+        this.text = text;
+        this.source = source;
+        this.value = value;
+        this.valid = valid;
+        this.decimals = decimals;
     }
 
     /**
@@ -26,7 +51,26 @@ public final class PlaceholderResult {
      * @return Text
      */
     public Text text() {
-        return this.text;
+        // Invalid and empty results are shared, so they return copies of their mutable text
+        if (!this.valid || this == EMPTY) {
+            return this.sharedText().copy();
+        }
+        return this.sharedText();
+    }
+
+    private Text sharedText() {
+        var text = this.text;
+        if (text == null) {
+            if (!this.valid) {
+                text = Text.literal("[" + (this.source != null ? this.source : "Invalid placeholder!") + "]").setStyle(INVALID_STYLE);
+            } else if (this.source != null) {
+                text = parseMarkup(this.source);
+            } else {
+                text = Text.literal(this.valueString());
+            }
+            this.text = text;
+        }
+        return text;
     }
 
     /**
@@ -35,7 +79,13 @@ public final class PlaceholderResult {
      * @return String
      */
     public String string() {
-        return this.string;
+        var string = this.string;
+        if (string == null) {
+            // Typed values without custom text don't need to create it
+            string = this.valid && this.source == null && this.text == null ? this.valueString() : this.sharedText().getString();
+            this.string = string;
+        }
+        return string;
     }
 
     /**
@@ -47,13 +97,89 @@ public final class PlaceholderResult {
         return this.valid;
     }
 
+    /**
+     * Returns typed value of placeholder, being Long, Double, Boolean or Duration, or null if there isn't any
+     */
+    @Nullable
+    public Object value() {
+        return this.value;
+    }
+
+    /**
+     * Checks if placeholder has numeric value (long, double or duration)
+     */
+    public boolean hasNumber() {
+        return this.value instanceof Number || this.value instanceof Duration;
+    }
+
+    /**
+     * Returns value as long, with durations being in milliseconds
+     */
+    public long longValue(long defaultValue) {
+        if (this.value instanceof Number number) {
+            return number.longValue();
+        } else if (this.value instanceof Duration duration) {
+            return duration.toMillis();
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Returns value as double, with durations being in milliseconds
+     */
+    public double doubleValue(double defaultValue) {
+        if (this.value instanceof Number number) {
+            return number.doubleValue();
+        } else if (this.value instanceof Duration duration) {
+            return duration.toMillis();
+        }
+        return defaultValue;
+    }
+
+    public boolean booleanValue(boolean defaultValue) {
+        return this.value instanceof Boolean bool ? bool : defaultValue;
+    }
+
+    @Nullable
+    public Duration durationValue() {
+        return this.value instanceof Duration duration ? duration : null;
+    }
+
+    private static Text parseMarkup(String markup) {
+        // Without tags or escapes output would be the same as literal
+        if (markup.indexOf('<') == -1 && markup.indexOf('\\') == -1) {
+            return Text.literal(markup);
+        }
+
+        // Nodes are cached instead of texts, as every result needs its own mutable text
+        var node = MARKUP_CACHE.getIfPresent(markup);
+        if (node == null) {
+            node = TextParserUtils.formatNodes(markup);
+            MARKUP_CACHE.put(markup, node);
+        }
+        return node.toText(null, true);
+    }
+
+    private String valueString() {
+        if (this.value instanceof Double number) {
+            return NumberFormatter.fixed(number, this.decimals);
+        } else if (this.value instanceof Duration duration) {
+            return GeneralUtils.durationToString(duration.toSeconds());
+        }
+        return String.valueOf(this.value);
+    }
+
     /**
      * Create result for invalid placeholder
      *
      * @return PlaceholderResult
      */
     public static PlaceholderResult invalid(String reason) {
-        return new PlaceholderResult(null, reason);
+        if (reason == null) {
+            return INVALID;
+        }
+
+        return INVALID_WITH_REASON.computeIfAbsent(reason, x -> new PlaceholderResult(null, x, null, false, 0));
     }
 
     /**
@@ -62,7 +188,16 @@ public final class PlaceholderResult {
      * @return PlaceholderResult
      */
     public static PlaceholderResult invalid() {
-        return new PlaceholderResult(null, null);
+        return INVALID;
+    }
+
+    /**
+     * Returns shared result with empty text
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult empty() {
+        return EMPTY;
     }
 
     /**
@@ -71,17 +206,81 @@ public final class PlaceholderResult {
      * @return PlaceholderResult
      */
     public static PlaceholderResult value(Text text) {
-        return new PlaceholderResult(text, null);
+        return text != null ? new PlaceholderResult(text, null, null, true, 0) : INVALID;
     }
 
     /**
-     * Create result for placeholder
+     * Create result for placeholder, with text being parsed with TextParser once it's needed
      *
      * @return PlaceholderResult
      */
     public static PlaceholderResult value(String text) {
-        return new PlaceholderResult(TextParserUtils.formatText(text), null);
+        return formatted(text);
+    }
+
+    /**
+     * Create result from plain string, which is used as is without any parsing
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult literal(String text) {
+        var result = new PlaceholderResult(Text.literal(text), null, null, true, 0);
+        result.string = text;
+        return result;
+    }
+
+    /**
+     * Create result from string with TextParser formatting. Parsed values are cached,
+     * so repeated ones (for example colored ranks) are only parsed once
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult formatted(String text) {
+        return new PlaceholderResult(null, text, null, true, 0);
+    }
+
+    /**
+     * Create result with numeric value
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult value(long value) {
+        return new PlaceholderResult(null, null, value, true, 0);
     }
-}
 
+    /**
+     * Create result with numeric value, displayed with provided amount of decimal places
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult value(double value, int decimals) {
+        return new PlaceholderResult(null, null, value, true, decimals);
+    }
+
+    /**
+     * Create result with boolean value
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult value(boolean value) {
+        return new PlaceholderResult(null, null, value, true, 0);
+    }
 
+    /**
+     * Create result with duration, displayed in short form (for example {@code 1h2m3s})
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult value(Duration value) {
+        return new PlaceholderResult(null, null, value, true, 0);
+    }
+
+    /**
+     * Create result with custom text, while keeping typed value (Long, Double, Boolean or Duration)
+     *
+     * @return PlaceholderResult
+     */
+    public static PlaceholderResult value(Text text, Object value) {
+        return new PlaceholderResult(text, null, value, true, 0);
+    }
+}
@@ -5,6 +5,11 @@ import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.node.parent.ParentNode;
 import eu.pb4.placeholders.api.parsers.NodeParser;
 import eu.pb4.placeholders.api.parsers.PatternPlaceholderParser;
+import eu.pb4.placeholders.api.parsers.StaticPreParser;
+import eu.pb4.placeholders.impl.placeholder.PlaceholderBatch;
+import eu.pb4.placeholders.impl.placeholder.PreparedTextCache;
+import eu.pb4.placeholders.impl.placeholder.TextPlaceholderReplacer;
+import eu.pb4.placeholders.impl.placeholder.builtin.LeaderboardPlaceholders;
 import eu.pb4.placeholders.impl.placeholder.builtin.PlayerPlaceholders;
 import eu.pb4.placeholders.impl.placeholder.builtin.ServerPlaceholders;
 import eu.pb4.placeholders.impl.placeholder.builtin.WorldPlaceholders;
@@ -13,6 +18,7 @@ import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public final class Placeholders {
@@ -24,14 +30,36 @@ public final class Placeholders {
 
 	public static final Pattern PREDEFINED_PLACEHOLDER_PATTERN = PatternPlaceholderParser.PREDEFINED_PLACEHOLDER_PATTERN;
 
-	private static final HashMap<Identifier, PlaceholderHandler> PLACEHOLDERS = new HashMap<>();
+	private static final Map<Identifier, PlaceholderHandler> PLACEHOLDERS = new ConcurrentHashMap<>();
+	/**
+	 * Providers by namespace, sorted by prefix length. Lists are immutable and replaced on change, so they can be read without locking.
+	 */
+	private static final Map<String, List<ProviderEntry>> PROVIDERS = new ConcurrentHashMap<>();
+	/**
+	 * Resolved handlers (including misses) by raw placeholder string, so lookups don't need to parse identifiers.
+	 * It's replaced with a new map every time placeholders change (so lookups running at the same time can't put
+	 * stale handlers into the new one) and cleared when it grows too large.
+	 */
+	private static volatile Map<String, PlaceholderHandler> lookup = new ConcurrentHashMap<>();
+	private static final PlaceholderHandler MISSING = (ctx, arg) -> PlaceholderResult.invalid("Placeholder doesn't exist!");
+	private static final int MAX_LOOKUP_SIZE = 8192;
 
 	private static final List<PlaceholderListChangedCallback> CHANGED_CALLBACKS = new ArrayList<>();
 
 	public static final PlaceholderGetter DEFAULT_PLACEHOLDER_GETTER = new PlaceholderGetter() {
 		@Override
 		public PlaceholderHandler getPlaceholder(String placeholder) {
-			return PLACEHOLDERS.get(Identifier.tryParse(placeholder));
+			var lookup = Placeholders.lookup;
+			var handler = lookup.get(placeholder);
+			if (handler == null) {
+				var identifier = Identifier.tryParse(placeholder);
+				handler = identifier != null ? resolve(identifier) : null;
+				if (lookup.size() >= MAX_LOOKUP_SIZE) {
+					lookup.clear();
+				}
+				lookup.put(placeholder, handler != null ? handler : MISSING);
+			}
+			return handler != MISSING ? handler : null;
 		}
 
 		@Override
@@ -48,13 +76,22 @@ public final class Placeholders {
 	 * @return PlaceholderResult
 	 */
 	public static PlaceholderResult parsePlaceholder(Identifier identifier, String argument, PlaceholderContext context) {
-		if (PLACEHOLDERS.containsKey(identifier)) {
-			return PLACEHOLDERS.get(identifier).onPlaceholderRequest(context, argument);
+		var handler = getPlaceholder(identifier);
+		if (handler != null) {
+			return handler.onPlaceholderRequest(context, argument);
 		} else {
 			return PlaceholderResult.invalid("Placeholder doesn't exist!");
 		}
 	}
 
+	/**
+	 * Returns handler of placeholder, either registered directly or by a provider
+	 */
+	@Nullable
+	public static PlaceholderHandler getPlaceholder(Identifier identifier) {
+		return DEFAULT_PLACEHOLDER_GETTER.getPlaceholder(identifier.toString());
+	}
+
 	/**
 	 * Parses placeholders in nodes, without getting their final values
 	 * Placeholders have format of {@code %namespace:placeholder argument%}
@@ -114,6 +151,28 @@ public final class Placeholders {
 	}
 
 
+	/**
+	 * Converts text into nodes and parses placeholders in them, returning reusable result.
+	 * Parts without placeholders are pre-rendered into static text.
+	 * Results are cached for as long as passed Text instance exists, so it shouldn't be modified after calling it.
+	 *
+	 * @return ParentNode
+	 */
+	public static ParentNode prepare(Text text) {
+		return prepare(text, PLACEHOLDER_PATTERN, DEFAULT_PLACEHOLDER_GETTER);
+	}
+
+	public static ParentNode prepare(Text text, Pattern pattern) {
+		return prepare(text, pattern, DEFAULT_PLACEHOLDER_GETTER);
+	}
+
+	public static ParentNode prepare(Text text, Pattern pattern, PlaceholderGetter placeholderGetter) {
+		return PreparedTextCache.get(text, pattern, placeholderGetter, () -> {
+			var node = StaticPreParser.parse(parseNodes(TextNode.convert(text), pattern, placeholderGetter));
+			return node instanceof ParentNode parentNode ? parentNode : new ParentNode(node);
+		});
+	}
+
 	/**
 	 * Parses placeholders in text
 	 * Placeholders have format of {@code %namespace:placeholder argument%}
@@ -121,39 +180,84 @@ public final class Placeholders {
 	 * @return Text
 	 */
 	public static Text parseText(Text text, PlaceholderContext context) {
-		return parseNodes(TextNode.convert(text)).toText(ParserContext.of(PlaceholderContext.KEY, context));
+		return PlaceholderBatch.toText(prepare(text), context);
 	}
 
 	public static Text parseText(Text text, PlaceholderContext context, Pattern pattern) {
-		return parseNodes(TextNode.convert(text), pattern).toText(ParserContext.of(PlaceholderContext.KEY, context));
+		return PlaceholderBatch.toText(prepare(text, pattern), context);
 	}
 
 	public static Text parseText(Text text, PlaceholderContext context, Pattern pattern, PlaceholderGetter placeholderGetter) {
-		return parseNodes(TextNode.convert(text), pattern, placeholderGetter).toText(ParserContext.of(PlaceholderContext.KEY, context));
+		return PlaceholderBatch.toText(prepare(text, pattern, placeholderGetter), context);
+	}
+
+	/**
+	 * Parses placeholders in text for multiple contexts (for example every online player) at once.
+	 * Placeholders implementing {@link BatchPlaceholderHandler} get all their requests in a single call.
+	 *
+	 * @return List of Text, in the same order as contexts
+	 */
+	public static List<Text> parseTexts(Text text, List<PlaceholderContext> contexts) {
+		return PlaceholderBatch.toTexts(prepare(text), contexts);
+	}
+
+	public static List<Text> parseTexts(Text text, List<PlaceholderContext> contexts, Pattern pattern) {
+		return PlaceholderBatch.toTexts(prepare(text, pattern), contexts);
+	}
+
+	public static List<Text> parseTexts(Text text, List<PlaceholderContext> contexts, Pattern pattern, PlaceholderGetter placeholderGetter) {
+		return PlaceholderBatch.toTexts(prepare(text, pattern, placeholderGetter), contexts);
+	}
+
+	public static List<Text> parseTexts(TextNode textNode, List<PlaceholderContext> contexts) {
+		return PlaceholderBatch.toTexts(parseNodes(textNode), contexts);
 	}
 
 	public static Text parseText(Text text, Pattern pattern, Map<String, Text> placeholders) {
-		return parseNodes(TextNode.convert(text), pattern, placeholders).toText(ParserContext.of());
+		return parseNodes(TextNode.convert(text), pattern, placeholders).toText();
 	}
 
 	public static Text parseText(Text text, Pattern pattern, Set<String> placeholders, ParserContext.Key<PlaceholderGetter> key) {
-		return parseNodes(TextNode.convert(text), pattern, placeholders, key).toText(ParserContext.of());
+		return parseNodes(TextNode.convert(text), pattern, placeholders, key).toText();
+	}
+
+	/**
+	 * Replaces placeholders directly in vanilla Text, without converting it to nodes.
+	 * Only parts containing placeholders are copied, the rest is shared with input (which is returned as is, if nothing changed).
+	 * Unlike parseText, it doesn't remove backslashes used for escaping.
+	 *
+	 * @return Text
+	 */
+	public static Text replaceText(Text text, PlaceholderContext context) {
+		return TextPlaceholderReplacer.replace(text, PLACEHOLDER_PATTERN, DEFAULT_PLACEHOLDER_GETTER, context);
+	}
+
+	public static Text replaceText(Text text, PlaceholderContext context, Pattern pattern) {
+		return TextPlaceholderReplacer.replace(text, pattern, DEFAULT_PLACEHOLDER_GETTER, context);
+	}
+
+	public static Text replaceText(Text text, PlaceholderContext context, Pattern pattern, PlaceholderGetter placeholderGetter) {
+		return TextPlaceholderReplacer.replace(text, pattern, placeholderGetter, context);
+	}
+
+	public static Text replaceText(Text text, Pattern pattern, Map<String, Text> placeholders) {
+		return TextPlaceholderReplacer.replace(text, pattern, placeholders::get);
 	}
 
 	public static Text parseText(TextNode textNode, PlaceholderContext context) {
-		return parseNodes(textNode).toText(ParserContext.of(PlaceholderContext.KEY, context));
+		return parseNodes(textNode).toText(context);
 	}
 
 	public static Text parseText(TextNode textNode, PlaceholderContext context, Pattern pattern) {
-		return parseNodes(textNode, pattern).toText(ParserContext.of(PlaceholderContext.KEY, context));
+		return parseNodes(textNode, pattern).toText(context);
 	}
 
 	public static Text parseText(TextNode textNode, PlaceholderContext context, Pattern pattern, PlaceholderGetter placeholderGetter) {
-		return parseNodes(textNode, pattern, placeholderGetter).toText(ParserContext.of(PlaceholderContext.KEY, context));
+		return parseNodes(textNode, pattern, placeholderGetter).toText(context);
 	}
 
 	public static Text parseText(TextNode textNode, PlaceholderContext context, Pattern pattern, Map<String, Text> placeholders) {
-		return parseNodes(textNode, pattern, placeholders).toText(ParserContext.of(PlaceholderContext.KEY, context));
+		return parseNodes(textNode, pattern, placeholders).toText(context);
 	}
 
 	public static Text parseText(TextNode textNode, Pattern pattern, Map<String, Text> placeholders) {
@@ -168,7 +272,10 @@ public final class Placeholders {
 	 * Registers new placeholder for identifier
 	 */
 	public static void register(Identifier identifier, PlaceholderHandler handler) {
-		PLACEHOLDERS.put(identifier, handler);
+		synchronized (PLACEHOLDERS) {
+			PLACEHOLDERS.put(identifier, handler);
+			invalidateCaches();
+		}
 		for (var e : CHANGED_CALLBACKS) {
 			e.onPlaceholderListChange(identifier, false);
 		}
@@ -178,13 +285,90 @@ public final class Placeholders {
 	 * Removes placeholder
 	 */
 	public static void remove(Identifier identifier) {
-		if (PLACEHOLDERS.remove(identifier) != null) {
+		boolean removed;
+		synchronized (PLACEHOLDERS) {
+			removed = PLACEHOLDERS.remove(identifier) != null;
+			if (removed) {
+				invalidateCaches();
+			}
+		}
+
+		if (removed) {
 			for (var e : CHANGED_CALLBACKS) {
 				e.onPlaceholderListChange(identifier, true);
 			}
 		}
 	}
 
+	/**
+	 * Registers provider of placeholders for whole namespace.
+	 * Placeholders registered directly take priority over ones from providers.
+	 */
+	public static void registerProvider(String namespace, PlaceholderProvider provider) {
+		registerProvider(new Identifier(namespace, ""), provider);
+	}
+
+	/**
+	 * Registers provider of placeholders with paths starting with path of prefix (for example {@code example:stat/}).
+	 * If multiple providers match, one with the longest prefix is asked first.
+	 * Change callbacks are called with the prefix as identifier.
+	 */
+	public static void registerProvider(Identifier prefix, PlaceholderProvider provider) {
+		synchronized (PLACEHOLDERS) {
+			var list = new ArrayList<>(PROVIDERS.getOrDefault(prefix.getNamespace(), List.of()));
+			list.add(new ProviderEntry(prefix, provider));
+			list.sort(Comparator.comparingInt((ProviderEntry entry) -> entry.prefix.getPath().length()).reversed());
+			PROVIDERS.put(prefix.getNamespace(), List.copyOf(list));
+			invalidateCaches();
+		}
+		for (var e : CHANGED_CALLBACKS) {
+			e.onPlaceholderListChange(prefix, false);
+		}
+	}
+
+	/**
+	 * Removes provider
+	 */
+	public static void removeProvider(PlaceholderProvider provider) {
+		var removed = new ArrayList<Identifier>();
+		synchronized (PLACEHOLDERS) {
+			for (var namespace : List.copyOf(PROVIDERS.keySet())) {
+				var list = new ArrayList<ProviderEntry>();
+				for (var entry : PROVIDERS.get(namespace)) {
+					if (entry.provider == provider) {
+						removed.add(entry.prefix);
+					} else {
+						list.add(entry);
+					}
+				}
+
+				if (list.isEmpty()) {
+					PROVIDERS.remove(namespace);
+				} else {
+					PROVIDERS.put(namespace, List.copyOf(list));
+				}
+			}
+
+			if (!removed.isEmpty()) {
+				invalidateCaches();
+			}
+		}
+
+		for (var prefix : removed) {
+			for (var e : CHANGED_CALLBACKS) {
+				e.onPlaceholderListChange(prefix, true);
+			}
+		}
+	}
+
+	private static void invalidateCaches() {
+		lookup = new ConcurrentHashMap<>();
+		PreparedTextCache.clear();
+	}
+
+	/**
+	 * Returns directly registered placeholders. Ones provided by {@link PlaceholderProvider} aren't included.
+	 */
 	public static ImmutableMap<Identifier, PlaceholderHandler> getPlaceholders() {
 		return ImmutableMap.copyOf(PLACEHOLDERS);
 	}
@@ -215,6 +399,29 @@ public final class Placeholders {
 		}
 	}
 
+	@Nullable
+	private static PlaceholderHandler resolve(Identifier identifier) {
+		var handler = PLACEHOLDERS.get(identifier);
+		if (handler != null) {
+			return handler;
+		}
+
+		var providers = PROVIDERS.get(identifier.getNamespace());
+		if (providers != null) {
+			for (var entry : providers) {
+				if (identifier.getPath().startsWith(entry.prefix.getPath())) {
+					handler = entry.provider.getPlaceholder(identifier);
+					if (handler != null) {
+						return handler;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private record ProviderEntry(Identifier prefix, PlaceholderProvider provider) {}
+
 	private static ParentNode asSingleParent(TextNode... textNodes) {
 		if (textNodes.length == 1 && textNodes[0] instanceof ParentNode) {
 			return (ParentNode) textNodes[0];
@@ -227,5 +434,6 @@ public final class Placeholders {
 		PlayerPlaceholders.register();
 		ServerPlaceholders.register();
 		WorldPlaceholders.register();
+		LeaderboardPlaceholders.register();
 	}
 }
@@ -0,0 +1,78 @@
+package eu.pb4.placeholders.api;
+
+import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.api.parsers.NodeParser;
+import eu.pb4.placeholders.impl.ParserContextPool;
+import eu.pb4.placeholders.impl.json.EncodedJsonCache;
+import eu.pb4.placeholders.impl.json.JsonTextReader;
+import eu.pb4.placeholders.impl.json.JsonTextWriter;
+import net.minecraft.text.Text;
+
+/**
+ * Serializes nodes directly into text component json and reads them back, without creating Text or going through Gson.
+ */
+public final class TextNodeJson {
+    /**
+     * Max length of text component json accepted in packets.
+     */
+    public static final int MAX_LENGTH = 262144;
+
+    private TextNodeJson() {}
+
+    public static String toJson(TextNode node, ParserContext context) {
+        return JsonTextWriter.toJson(node, context, MAX_LENGTH);
+    }
+
+    /**
+     * Serializes node, dropping parts that would make output longer than maxLength.
+     */
+    public static String toJson(TextNode node, ParserContext context, int maxLength) {
+        return JsonTextWriter.toJson(node, context, maxLength);
+    }
+
+    public static String toJson(TextNode node, PlaceholderContext context) {
+        return ParserContextPool.apply(context, parserContext -> JsonTextWriter.toJson(node, parserContext, MAX_LENGTH));
+    }
+
+    public static String toJson(TextNode node) {
+        return ParserContextPool.apply(null, parserContext -> JsonTextWriter.toJson(node, parserContext, MAX_LENGTH));
+    }
+
+    /**
+     * Appends serialized node to provided builder, allowing to reuse it between calls.
+     * Max length only applies to appended json, not to content builder already had.
+     *
+     * @return false if output was truncated to fit in maxLength
+     */
+    public static boolean write(TextNode node, ParserContext context, StringBuilder out, int maxLength) {
+        return JsonTextWriter.write(node, context, out, maxLength);
+    }
+
+    /**
+     * Returns UTF-8 encoded json of node without any context.
+     * For static nodes (like templates returned by {@link Placeholders#prepare}) it's only encoded once and kept
+     * for as long as the node exists, so returned array must not be modified.
+     */
+    public static byte[] toJsonBytes(TextNode node) {
+        return EncodedJsonCache.get(node, MAX_LENGTH);
+    }
+
+    /**
+     * Reads text component json into nodes. Result renders the same as using {@link TextNode#convert(Text)} on deserialized Text.
+     *
+     * @throws com.google.gson.JsonParseException if json is invalid
+     */
+    public static TextNode fromJson(String json) {
+        return JsonTextReader.read(json, null);
+    }
+
+    /**
+     * Reads text component json into nodes, passing every literal (including click values and insertions)
+     * through provided parser as it's read. It's meant for placeholder parsers, like {@link Placeholders#DEFAULT_PLACEHOLDER_PARSER}.
+     *
+     * @throws com.google.gson.JsonParseException if json is invalid
+     */
+    public static TextNode fromJson(String json, NodeParser literalParser) {
+        return JsonTextReader.read(json, literalParser);
+    }
+}
@@ -4,6 +4,7 @@ import eu.pb4.placeholders.api.node.LiteralNode;
 import eu.pb4.placeholders.api.node.parent.ParentNode;
 import eu.pb4.placeholders.api.node.parent.ParentTextNode;
 import eu.pb4.placeholders.api.parsers.TextParserV1;
+import eu.pb4.placeholders.impl.textparser.TextParserImpl;
 import net.minecraft.text.Text;
 
 public final class TextParserUtils {
@@ -21,6 +22,13 @@ public final class TextParserUtils {
         return formatNodes(text, getter).toText(null, true);
     }
 
+    /**
+     * Converts Text into tag based string, that can be parsed back with {@link #formatText(String)}.
+     */
+    public static String convertToString(Text text) {
+        return TextParserImpl.convertToString(text);
+    }
+
     public static ParentTextNode formatNodes(String text) {
         return new ParentNode(TextParserV1.DEFAULT.parseNodes(new LiteralNode(text)));
     }
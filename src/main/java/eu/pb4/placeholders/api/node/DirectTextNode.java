@@ -1,11 +1,50 @@
 package eu.pb4.placeholders.api.node;
 
 import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.impl.GeneralUtils;
 import net.minecraft.text.Text;
 
-public record DirectTextNode(Text text) implements TextNode {
+import java.util.Objects;
+
+/**
+ * Node containing already created Text. Every call of toText returns a copy of it,
+ * so returned texts can be modified without affecting each other.
+ */
+public final class DirectTextNode implements TextNode {
+    private final Text text;
+    private final NodeMetadata metadata;
+
+    public DirectTextNode(Text text) {
+        this.text = text;
+        this.metadata = NodeMetadata.ofLeaf(false, GeneralUtils.getGradientLength(text));
+    }
+
+    public Text text() {
+        return this.text;
+    }
+
     @Override
     public Text toText(ParserContext context, boolean removeBackslashes) {
-        return this.text;
+        return this.text.copy();
+    }
+
+    @Override
+    public NodeMetadata metadata() {
+        return this.metadata;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof DirectTextNode node && Objects.equals(this.text, node.text));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.text);
+    }
+
+    @Override
+    public String toString() {
+        return "DirectTextNode[text=" + this.text + "]";
     }
 }
@@ -9,4 +9,12 @@ public record EmptyNode() implements TextNode {
     public Text toText(ParserContext context, boolean removeBackslashes) {
         return Text.empty();
     }
+
+    @Override
+    public void appendString(ParserContext context, StringOutput output) {}
+
+    @Override
+    public NodeMetadata metadata() {
+        return NodeMetadata.ofLeaf(false, 0);
+    }
 }
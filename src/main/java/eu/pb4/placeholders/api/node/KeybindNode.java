@@ -8,4 +8,9 @@ public record KeybindNode(String value) implements TextNode {
     public Text toText(ParserContext context, boolean removeBackslashes) {
         return Text.keybind(this.value());
     }
+
+    @Override
+    public NodeMetadata metadata() {
+        return NodeMetadata.ofLeaf(false, 1);
+    }
 }
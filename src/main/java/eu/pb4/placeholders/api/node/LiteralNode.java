@@ -4,40 +4,101 @@ import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.impl.textparser.TextParserImpl;
 import net.minecraft.text.Text;
 
-public record LiteralNode(String value) implements TextNode {
+public final class LiteralNode implements TextNode {
+    private final String value;
+    private final NodeMetadata metadata;
+
+    public LiteralNode(String value) {
+        this.value = value;
+        this.metadata = NodeMetadata.ofLeaf(false, literalLength(value));
+    }
 
     public LiteralNode(StringBuilder builder) {
         this(builder.toString());
     }
+
+    public String value() {
+        return this.value;
+    }
+
     @Override
     public Text toText(ParserContext context, boolean removeBackslashes) {
         if (this.value.isEmpty()) {
             return Text.empty();
         }
 
-        if (removeBackslashes) {
-            var builder = new StringBuilder();
-
-            var length = this.value.length();
-            for (var i = 0; i < length; i++) {
-                var c = this.value.charAt(i);
-
-                if (c == '\\' && i + 1 < length) {
-                    var n = this.value.charAt(i + 1);
-                    if (Character.isWhitespace(n) || Character.isLetterOrDigit(n)) {
-                        builder.append(c);
-                    } else {
-                        builder.append(n);
-                        i++;
-                    }
-                } else {
+        return Text.literal(removeBackslashes ? this.withoutBackslashes() : this.value);
+    }
+
+    @Override
+    public void appendString(ParserContext context, StringOutput output) {
+        output.append(this.withoutBackslashes());
+    }
+
+    private String withoutBackslashes() {
+        if (this.value.indexOf('\\') == -1) {
+            return this.value;
+        }
+
+        var builder = new StringBuilder();
+
+        var length = this.value.length();
+        for (var i = 0; i < length; i++) {
+            var c = this.value.charAt(i);
+
+            if (c == '\\' && i + 1 < length) {
+                var n = this.value.charAt(i + 1);
+                if (Character.isWhitespace(n) || Character.isLetterOrDigit(n)) {
                     builder.append(c);
+                } else {
+                    builder.append(n);
+                    i++;
                 }
+            } else {
+                builder.append(c);
             }
+        }
 
-            return Text.literal(builder.toString());
-        } else {
-            return Text.literal(this.value());
+        return builder.toString();
+    }
+
+    @Override
+    public NodeMetadata metadata() {
+        return this.metadata;
+    }
+
+    /**
+     * Length of text without escaping backslashes
+     */
+    private static int literalLength(String value) {
+        var length = value.length();
+        var out = length;
+
+        for (var i = 0; i < length - 1; i++) {
+            if (value.charAt(i) == '\\') {
+                var n = value.charAt(i + 1);
+                if (!Character.isWhitespace(n) && !Character.isLetterOrDigit(n)) {
+                    out--;
+                    i++;
+                }
+            }
         }
+
+        return out;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof LiteralNode node && this.value.equals(node.value));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LiteralNode[value=" + this.value + "]";
     }
 }
@@ -16,4 +16,10 @@ public record NbtNode(String rawPath, boolean interpret, Optional<TextNode> sepa
     public boolean isDynamic() {
         return separator.isPresent() && separator.get().isDynamic();
     }
+
+    @Override
+    public NodeMetadata metadata() {
+        var separator = NodeMetadata.ofValues(this.separator.orElse(null));
+        return new NodeMetadata(separator.dynamic(), separator.placeholders(), 1, separator.depth() + 1);
+    }
 }
@@ -0,0 +1,72 @@
+package eu.pb4.placeholders.api.node;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Information about TextNode and everything it contains. It's computed once for ParentNodes,
+ * so checking it is cheap even for big trees.
+ *
+ * @param dynamic whatever output of node can change between toText calls
+ * @param placeholders ids of placeholders used within this node
+ * @param literalLength length of rendered text (in the same way gradients count it) or -1 if it isn't known before rendering
+ * @param depth amount of nested node levels, including this node
+ */
+public record NodeMetadata(boolean dynamic, Set<String> placeholders, int literalLength, int depth) {
+    public static final NodeMetadata EMPTY = new NodeMetadata(false, Set.of(), 0, 0);
+    public static final NodeMetadata DYNAMIC_VALUE = new NodeMetadata(true, Set.of(), 0, 0);
+
+    public static NodeMetadata ofLeaf(boolean dynamic, int literalLength) {
+        return new NodeMetadata(dynamic, Set.of(), literalLength, 1);
+    }
+
+    /**
+     * Creates metadata of node containing provided children.
+     *
+     * @param extra metadata of values used by node other than children (for example hover text),
+     *              which only contribute dynamic flag, placeholders and depth
+     * @param knownLength whatever node keeps text of its children, so its length is sum of their lengths
+     */
+    public static NodeMetadata ofChildren(TextNode[] children, NodeMetadata extra, boolean knownLength) {
+        return combine(children, extra, knownLength ? 0 : -1);
+    }
+
+    /**
+     * Creates metadata of values used by a node other than its children. Values that aren't TextNodes are skipped.
+     */
+    public static NodeMetadata ofValues(Object... values) {
+        var out = combine(values, EMPTY, 0);
+        return new NodeMetadata(out.dynamic, out.placeholders, 0, out.depth - 1);
+    }
+
+    private static NodeMetadata combine(Object[] nodes, NodeMetadata extra, int length) {
+        var dynamic = extra.dynamic;
+        var placeholders = extra.placeholders;
+        HashSet<String> merged = null;
+        var depth = extra.depth;
+
+        for (var object : nodes) {
+            if (!(object instanceof TextNode node)) {
+                continue;
+            }
+
+            var metadata = node.metadata();
+            dynamic |= metadata.dynamic;
+            depth = Math.max(depth, metadata.depth);
+            length = length < 0 || metadata.literalLength < 0 ? -1 : length + metadata.literalLength;
+
+            if (!metadata.placeholders.isEmpty()) {
+                if (merged != null) {
+                    merged.addAll(metadata.placeholders);
+                } else if (placeholders.isEmpty()) {
+                    placeholders = metadata.placeholders;
+                } else if (!placeholders.containsAll(metadata.placeholders)) {
+                    merged = new HashSet<>(placeholders);
+                    merged.addAll(metadata.placeholders);
+                }
+            }
+        }
+
+        return new NodeMetadata(dynamic, merged != null ? Set.copyOf(merged) : placeholders, length, depth + 1);
+    }
+}
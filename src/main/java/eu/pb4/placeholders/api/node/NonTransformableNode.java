@@ -16,4 +16,10 @@ public record NonTransformableNode(TextNode node) implements TextNode {
     public boolean isDynamic() {
         return node.isDynamic();
     }
+
+    @Override
+    public NodeMetadata metadata() {
+        var metadata = this.node.metadata();
+        return new NodeMetadata(metadata.dynamic(), metadata.placeholders(), metadata.literalLength(), metadata.depth() + 1);
+    }
 }
@@ -8,4 +8,9 @@ public record ScoreNode(String name, String objective) implements TextNode {
     public Text toText(ParserContext context, boolean removeBackslashes) {
         return Text.score(name, objective);
     }
+
+    @Override
+    public NodeMetadata metadata() {
+        return NodeMetadata.ofLeaf(false, 1);
+    }
 }
@@ -15,4 +15,10 @@ public record SelectorNode(String pattern, Optional<TextNode> separator) impleme
     public boolean isDynamic() {
         return separator.isPresent() && separator.get().isDynamic();
     }
+
+    @Override
+    public NodeMetadata metadata() {
+        var separator = NodeMetadata.ofValues(this.separator.orElse(null));
+        return new NodeMetadata(separator.dynamic(), separator.placeholders(), 1, separator.depth() + 1);
+    }
 }
@@ -0,0 +1,174 @@
+package eu.pb4.placeholders.api.node;
+
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+import net.minecraft.text.TextColor;
+import net.minecraft.util.Formatting;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Target for rendering nodes directly into a string, without creating Text.
+ * Plain output only keeps text, while legacy one also writes colors and formatting as §-codes.
+ * Parent nodes set style used for their children with {@link #setStyle(Style)}, codes are only written before non-empty strings.
+ * Other formats can extend it by overriding both write methods.
+ */
+public class StringOutput {
+    private static final Formatting[] COLORS = Arrays.stream(Formatting.values()).filter(Formatting::isColor).toArray(Formatting[]::new);
+    private static final Formatting[] MODIFIERS = { Formatting.OBFUSCATED, Formatting.BOLD, Formatting.STRIKETHROUGH, Formatting.UNDERLINE, Formatting.ITALIC };
+
+    protected final StringBuilder builder;
+    private final boolean legacy;
+    private Style style = Style.EMPTY;
+    private Style writtenStyle = Style.EMPTY;
+
+    protected StringOutput(StringBuilder builder, boolean legacy) {
+        this.builder = builder;
+        this.legacy = legacy;
+    }
+
+    public static StringOutput plain(StringBuilder builder) {
+        return new StringOutput(builder, false);
+    }
+
+    public static StringOutput legacy(StringBuilder builder) {
+        return new StringOutput(builder, true);
+    }
+
+    public boolean isLegacy() {
+        return this.legacy;
+    }
+
+    /**
+     * Whatever this output uses style of written strings. If not, parent nodes can skip computing it.
+     */
+    public boolean usesStyle() {
+        return this.legacy;
+    }
+
+    public Style getStyle() {
+        return this.style;
+    }
+
+    public void setStyle(Style style) {
+        this.style = style;
+    }
+
+    public StringOutput append(String string) {
+        if (!string.isEmpty()) {
+            this.write(string, this.style);
+        }
+        return this;
+    }
+
+    /**
+     * Appends existing text, using current style as a base for its own.
+     */
+    public StringOutput append(Text text) {
+        this.write(text, this.style);
+        return this;
+    }
+
+    protected void write(String string, Style style) {
+        if (this.legacy) {
+            this.writeStyle(style);
+        }
+        this.builder.append(string);
+    }
+
+    protected void write(Text text, Style style) {
+        if (this.legacy) {
+            text.visit((style, string) -> {
+                if (!string.isEmpty()) {
+                    this.writeStyle(style);
+                    this.builder.append(string);
+                }
+                return Optional.empty();
+            }, style);
+        } else {
+            this.builder.append(text.getString());
+        }
+    }
+
+    public StringBuilder builder() {
+        return this.builder;
+    }
+
+    @Override
+    public String toString() {
+        return this.builder.toString();
+    }
+
+    private void writeStyle(Style style) {
+        var written = this.writtenStyle;
+
+        if (Objects.equals(written.getColor(), style.getColor()) && written.isObfuscated() == style.isObfuscated()
+                && written.isBold() == style.isBold() && written.isStrikethrough() == style.isStrikethrough()
+                && written.isUnderlined() == style.isUnderlined() && written.isItalic() == style.isItalic()) {
+            return;
+        }
+
+        var reset = !Objects.equals(written.getColor(), style.getColor())
+                || (written.isObfuscated() && !style.isObfuscated()) || (written.isBold() && !style.isBold())
+                || (written.isStrikethrough() && !style.isStrikethrough()) || (written.isUnderlined() && !style.isUnderlined())
+                || (written.isItalic() && !style.isItalic());
+
+        if (reset) {
+            var color = style.getColor();
+            if (color != null) {
+                this.builder.append(toFormatting(color));
+            } else {
+                this.builder.append(Formatting.RESET);
+            }
+        }
+
+        for (var modifier : MODIFIERS) {
+            if (hasModifier(style, modifier) && (reset || !hasModifier(written, modifier))) {
+                this.builder.append(modifier);
+            }
+        }
+
+        this.writtenStyle = style;
+    }
+
+    private static boolean hasModifier(Style style, Formatting formatting) {
+        return switch (formatting) {
+            case OBFUSCATED -> style.isObfuscated();
+            case BOLD -> style.isBold();
+            case STRIKETHROUGH -> style.isStrikethrough();
+            case UNDERLINE -> style.isUnderlined();
+            default -> style.isItalic();
+        };
+    }
+
+    /**
+     * Legacy codes only support named colors, so rgb ones are replaced by the closest of them.
+     */
+    private static Formatting toFormatting(TextColor color) {
+        var named = Formatting.byName(color.getName());
+        if (named != null && named.isColor()) {
+            return named;
+        }
+
+        var rgb = color.getRgb();
+        Formatting closest = Formatting.WHITE;
+        var distance = Integer.MAX_VALUE;
+
+        for (var formatting : COLORS) {
+            var value = formatting.getColorValue();
+            var r = ((value >> 16) & 0xFF) - ((rgb >> 16) & 0xFF);
+            var g = ((value >> 8) & 0xFF) - ((rgb >> 8) & 0xFF);
+            var b = (value & 0xFF) - (rgb & 0xFF);
+            var current = r * r + g * g + b * b;
+
+            if (current < distance) {
+                distance = current;
+                closest = formatting;
+            }
+        }
+
+        return closest;
+    }
+}
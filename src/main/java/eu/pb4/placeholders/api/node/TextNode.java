@@ -4,6 +4,7 @@ import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.PlaceholderContext;
 import eu.pb4.placeholders.api.node.parent.ParentNode;
 import eu.pb4.placeholders.impl.GeneralUtils;
+import eu.pb4.placeholders.impl.ParserContextPool;
 import net.minecraft.text.Text;
 
 public interface TextNode {
@@ -14,17 +15,57 @@ public interface TextNode {
     }
 
     default Text toText(PlaceholderContext context) {
-        return toText(context.asParserContext(), true);
+        return ParserContextPool.toText(this, context);
     }
 
     default Text toText() {
-        return toText(ParserContext.of(), true);
+        return ParserContextPool.toText(this, null);
+    }
+
+    /**
+     * Appends string representation of this node directly to output, without creating Text.
+     * Nodes that can't do that fall back to appending result of {@link #toText(ParserContext, boolean)}.
+     */
+    default void appendString(ParserContext context, StringOutput output) {
+        output.append(this.toText(context, true));
+    }
+
+    default String toPlainString(ParserContext context) {
+        var output = StringOutput.plain(new StringBuilder());
+        this.appendString(context, output);
+        return output.toString();
+    }
+
+    default String toPlainString(PlaceholderContext context) {
+        return ParserContextPool.apply(context, this::toPlainString);
+    }
+
+    default String toPlainString() {
+        return ParserContextPool.apply(null, this::toPlainString);
+    }
+
+    default String toLegacyString(ParserContext context) {
+        var output = StringOutput.legacy(new StringBuilder());
+        this.appendString(context, output);
+        return output.toString();
+    }
+
+    default String toLegacyString(PlaceholderContext context) {
+        return ParserContextPool.apply(context, this::toLegacyString);
+    }
+
+    default String toLegacyString() {
+        return ParserContextPool.apply(null, this::toLegacyString);
     }
 
     default boolean isDynamic() {
         return false;
     }
 
+    default NodeMetadata metadata() {
+        return NodeMetadata.ofLeaf(this.isDynamic(), -1);
+    }
+
     static TextNode convert(Text input) {
         return GeneralUtils.convertToNodes(input);
     }
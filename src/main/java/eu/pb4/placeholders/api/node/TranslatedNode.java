@@ -1,11 +1,19 @@
 package eu.pb4.placeholders.api.node;
 
+import com.google.common.collect.MapMaker;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.impl.GeneralUtils;
 import net.minecraft.text.Text;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
 public record TranslatedNode(String key, @Nullable String fallback, Object[] args) implements TextNode {
+    private static final NodeMetadata LEAF = NodeMetadata.ofLeaf(false, 1);
+    private static final Map<TranslatedNode, NodeMetadata> METADATA = new MapMaker().weakKeys().makeMap();
+
     @Deprecated
     public TranslatedNode(String key, Object[] args) {
         this(key, null, new Object[0]);
@@ -40,12 +48,39 @@ public record TranslatedNode(String key, @Nullable String fallback, Object[] arg
 
     @Override
     public boolean isDynamic() {
-        for (var obj : args) {
-            if (obj instanceof TextNode t && t.isDynamic()) {
-                return true;
-            }
+        return this.metadata().dynamic();
+    }
+
+    @Override
+    public NodeMetadata metadata() {
+        if (this.args.length == 0) {
+            return LEAF;
+        }
+
+        // Records can't hold extra fields, so computed metadata is kept in a weak identity map
+        var metadata = METADATA.get(this);
+        if (metadata == null) {
+            var args = NodeMetadata.ofValues(this.args);
+            metadata = new NodeMetadata(args.dynamic(), args.placeholders(), 1, args.depth() + 1);
+            METADATA.put(this, metadata);
+        }
+        return metadata;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
         }
 
-        return false;
+        return o instanceof TranslatedNode node
+                && this.key.equals(node.key)
+                && Objects.equals(this.fallback, node.fallback)
+                && Arrays.deepEquals(this.args, node.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * this.key.hashCode() + Objects.hashCode(this.fallback)) + Arrays.deepHashCode(this.args);
     }
 }
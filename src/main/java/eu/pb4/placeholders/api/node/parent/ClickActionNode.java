@@ -1,10 +1,12 @@
 package eu.pb4.placeholders.api.node.parent;
 
 import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.node.NodeMetadata;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.parsers.NodeParser;
 import net.minecraft.text.ClickEvent;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 
 public final class ClickActionNode extends ParentNode {
@@ -27,7 +29,17 @@ public final class ClickActionNode extends ParentNode {
 
     @Override
     protected Text applyFormatting(MutableText out, ParserContext context) {
-        return out.setStyle(out.getStyle().withClickEvent(new ClickEvent(this.action, this.value.toText(context, true).getString())));
+        return out.setStyle(this.applyStyle(out.getStyle(), context));
+    }
+
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
+        return style.withClickEvent(new ClickEvent(this.action, this.value.toPlainString(context)));
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
     }
 
     @Override
@@ -37,7 +49,12 @@ public final class ClickActionNode extends ParentNode {
 
     @Override
     public ParentTextNode copyWith(TextNode[] children, NodeParser parser) {
-        return new ClickActionNode(children, this.action, TextNode.asSingle(parser.parseNodes(this.value)));
+        return new ClickActionNode(children, this.action, parser.parseNode(this.value));
+    }
+
+    @Override
+    protected NodeMetadata metadataNoChildren() {
+        return NodeMetadata.ofValues(this.value);
     }
 
     @Override
@@ -45,6 +62,17 @@ public final class ClickActionNode extends ParentNode {
         return this.value.isDynamic();
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (ClickActionNode) node;
+        return this.action == other.action && this.value.equals(other.value);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return 31 * this.action.hashCode() + this.value.hashCode();
+    }
+
     @Override
     public String toString() {
         return "ClickActionNode{" +
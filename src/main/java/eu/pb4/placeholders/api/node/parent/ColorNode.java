@@ -3,6 +3,7 @@ package eu.pb4.placeholders.api.node.parent;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.node.TextNode;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.text.TextColor;
 
@@ -21,11 +22,32 @@ public final class ColorNode extends ParentNode {
         return out.setStyle(out.getStyle().withColor(this.color));
     }
 
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
+        return style.withColor(this.color);
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
+    }
+
     @Override
     public ParentTextNode copyWith(TextNode[] children) {
         return new ColorNode(children, this.color);
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (ColorNode) node;
+        return this.color.equals(other.color);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return this.color.hashCode();
+    }
+
     @Override
     public String toString() {
         return "ColorNode{" +
@@ -3,6 +3,7 @@ package eu.pb4.placeholders.api.node.parent;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.node.TextNode;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
@@ -21,11 +22,32 @@ public final class FontNode extends ParentNode {
         return out.setStyle(out.getStyle().withFont(font));
     }
 
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
+        return style.withFont(this.font);
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
+    }
+
     @Override
     public ParentTextNode copyWith(TextNode[] children) {
         return new FontNode(children, this.font);
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (FontNode) node;
+        return this.font.equals(other.font);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return this.font.hashCode();
+    }
+
     @Override
     public String toString() {
         return "FontNode{" +
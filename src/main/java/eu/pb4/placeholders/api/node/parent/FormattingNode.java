@@ -3,6 +3,7 @@ package eu.pb4.placeholders.api.node.parent;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.node.TextNode;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
@@ -26,11 +27,32 @@ public final class FormattingNode extends ParentNode {
         return out.formatted(this.formatting);
     }
 
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
+        return style.withFormatting(this.formatting);
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
+    }
+
     @Override
     public ParentTextNode copyWith(TextNode[] children) {
         return new FormattingNode(children, this.formatting);
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (FormattingNode) node;
+        return Arrays.equals(this.formatting, other.formatting);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return Arrays.hashCode(this.formatting);
+    }
+
     @Override
     public String toString() {
         return "FormattingNode{" +
@@ -1,6 +1,7 @@
 package eu.pb4.placeholders.api.node.parent;
 
 import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.node.StringOutput;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.impl.GeneralUtils;
 import net.minecraft.text.MutableText;
@@ -19,7 +20,24 @@ public final class GradientNode extends ParentNode {
 
     @Override
     protected Text applyFormatting(MutableText out, ParserContext context) {
-        return GeneralUtils.toGradient(out, this.gradientProvider);
+        var length = this.metadata().literalLength();
+        return length >= 0
+                ? GeneralUtils.toGradient(out, this.gradientProvider, length)
+                : GeneralUtils.toGradient(out, this.gradientProvider);
+    }
+
+    @Override
+    public void appendString(ParserContext context, StringOutput output) {
+        if (output.usesStyle()) {
+            output.append(this.toText(context, true));
+        } else {
+            super.appendString(context, output);
+        }
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
     }
 
     @Override
@@ -27,6 +45,17 @@ public final class GradientNode extends ParentNode {
         return new GradientNode(children, this.gradientProvider);
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (GradientNode) node;
+        return this.gradientProvider.equals(other.gradientProvider);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return this.gradientProvider.hashCode();
+    }
+
     @Override
     public String toString() {
         return "GradientNode{" +
@@ -1,15 +1,18 @@
 package eu.pb4.placeholders.api.node.parent;
 
 import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.node.NodeMetadata;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.parsers.NodeParser;
 import net.minecraft.entity.EntityType;
 import net.minecraft.text.HoverEvent;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.UUID;
 
 public final class HoverNode<T, H> extends ParentNode {
@@ -24,14 +27,23 @@ public final class HoverNode<T, H> extends ParentNode {
 
     @Override
     protected Text applyFormatting(MutableText out, ParserContext context) {
+        return out.setStyle(this.applyStyle(out.getStyle(), context));
+    }
+
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
         if (this.action == Action.TEXT) {
-            return out.setStyle(out.getStyle().withHoverEvent(new HoverEvent((HoverEvent.Action<Object>) this.action.vanillaType(), ((TextNode) this.value).toText(context, true))));
+            return style.withHoverEvent(new HoverEvent((HoverEvent.Action<Object>) this.action.vanillaType(), ((TextNode) this.value).toText(context, true)));
         } else if (this.action == Action.ENTITY) {
-            return out.setStyle(out.getStyle().withHoverEvent(new HoverEvent((HoverEvent.Action<Object>) this.action.vanillaType(), ((EntityNodeContent) this.value).toVanilla(context))));
+            return style.withHoverEvent(new HoverEvent((HoverEvent.Action<Object>) this.action.vanillaType(), ((EntityNodeContent) this.value).toVanilla(context)));
         } else {
-            return out.setStyle(out.getStyle().withHoverEvent(new HoverEvent((HoverEvent.Action<Object>) this.action.vanillaType(), this.value)));
+            return style.withHoverEvent(new HoverEvent((HoverEvent.Action<Object>) this.action.vanillaType(), this.value));
         }
+    }
 
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
     }
 
     @Override
@@ -58,6 +70,17 @@ public final class HoverNode<T, H> extends ParentNode {
         return this.value;
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (HoverNode<?, ?>) node;
+        return this.action.equals(other.action) && Objects.equals(this.value, other.value);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return 31 * this.action.hashCode() + Objects.hashCode(this.value);
+    }
+
     @Override
     public String toString() {
         return "HoverNode{" +
@@ -66,6 +89,11 @@ public final class HoverNode<T, H> extends ParentNode {
                 '}';
     }
 
+    @Override
+    protected NodeMetadata metadataNoChildren() {
+        return NodeMetadata.ofValues(this.value instanceof EntityNodeContent content ? content.name : this.value);
+    }
+
     @Override
     public boolean isDynamicNoChildren() {
         return (this.action == Action.TEXT && ((TextNode) this.value).isDynamic()) || (this.action == Action.ENTITY && ((EntityNodeContent) this.value).name.isDynamic());
@@ -1,9 +1,11 @@
 package eu.pb4.placeholders.api.node.parent;
 
 import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.node.NodeMetadata;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.parsers.NodeParser;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 
 import java.util.Arrays;
@@ -22,7 +24,17 @@ public final class InsertNode extends ParentNode {
 
     @Override
     protected Text applyFormatting(MutableText out, ParserContext context) {
-        return out.setStyle(out.getStyle().withInsertion(value.toText(context, true).getString()));
+        return out.setStyle(this.applyStyle(out.getStyle(), context));
+    }
+
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
+        return style.withInsertion(this.value.toPlainString(context));
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
     }
 
     @Override
@@ -32,7 +44,18 @@ public final class InsertNode extends ParentNode {
 
     @Override
     public ParentTextNode copyWith(TextNode[] children, NodeParser parser) {
-        return new InsertNode(children, TextNode.asSingle(parser.parseNodes(this.value)));
+        return new InsertNode(children, parser.parseNode(this.value));
+    }
+
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (InsertNode) node;
+        return this.value.equals(other.value);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return this.value.hashCode();
     }
 
     @Override
@@ -43,6 +66,11 @@ public final class InsertNode extends ParentNode {
                 '}';
     }
 
+    @Override
+    protected NodeMetadata metadataNoChildren() {
+        return NodeMetadata.ofValues(this.value);
+    }
+
     @Override
     public boolean isDynamicNoChildren() {
         return this.value.isDynamic();
@@ -3,6 +3,7 @@ package eu.pb4.placeholders.api.node.parent;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.node.TextNode;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 
 import java.util.Arrays;
@@ -20,11 +21,32 @@ public final class ObfuscatedNode extends ParentNode {
         return out.setStyle(out.getStyle().withObfuscated(this.value));
     }
 
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
+        return style.withObfuscated(this.value);
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
+    }
+
     @Override
     public ParentTextNode copyWith(TextNode[] children) {
         return new ObfuscatedNode(children, this.value);
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (ObfuscatedNode) node;
+        return this.value == other.value;
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return Boolean.hashCode(this.value);
+    }
+
     @Override
     public String toString() {
         return "ObfuscatedNode{" +
@@ -1,9 +1,12 @@
 package eu.pb4.placeholders.api.node.parent;
 
 import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.node.NodeMetadata;
+import eu.pb4.placeholders.api.node.StringOutput;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.impl.GeneralUtils;
 import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 
 import java.util.Arrays;
@@ -11,11 +14,17 @@ import java.util.Arrays;
 public class ParentNode implements ParentTextNode {
     public static final ParentNode EMPTY = new ParentNode(new TextNode[0]);
     protected final TextNode[] children;
+    private int hash;
+    private NodeMetadata metadata;
 
     public ParentNode(TextNode... children) {
         this.children = children;
     }
 
+    /**
+     * Returns children of this node. Returned array is the one used by node (same as one passed to constructor),
+     * so it must not be modified, as cached hash code and metadata are computed from it.
+     */
     @Override
     public final TextNode[] getChildren() {
         return this.children;
@@ -71,6 +80,100 @@ public class ParentNode implements ParentTextNode {
 
     protected Text applyFormatting(MutableText out, ParserContext context) { return out; };
 
+    @Override
+    public void appendString(ParserContext context, StringOutput output) {
+        if (!this.keepsChildrenText()) {
+            output.append(this.toText(context, true));
+            return;
+        }
+
+        var previous = output.getStyle();
+        if (output.usesStyle()) {
+            output.setStyle(this.applyStyle(previous, context));
+        }
+        for (var child : this.children) {
+            if (child != null) {
+                child.appendString(context, output);
+            }
+        }
+        output.setStyle(previous);
+    }
+
+    /**
+     * Style used for children when rendering them directly into a string.
+     */
+    protected Style applyStyle(Style style, ParserContext context) {
+        return style;
+    }
+
+    @Override
+    public final NodeMetadata metadata() {
+        var metadata = this.metadata;
+        if (metadata == null) {
+            metadata = NodeMetadata.ofChildren(this.children, this.metadataNoChildren(), this.keepsChildrenText());
+            this.metadata = metadata;
+        }
+        return metadata;
+    }
+
+    @Override
+    public boolean isDynamic() {
+        return this.metadata().dynamic();
+    }
+
+    /**
+     * Metadata of values used by this node other than children, for example hover text.
+     */
+    protected NodeMetadata metadataNoChildren() {
+        return this.isDynamicNoChildren() ? NodeMetadata.DYNAMIC_VALUE : NodeMetadata.EMPTY;
+    }
+
+    /**
+     * Whatever this node only changes style of its children, keeping their text as is.
+     * By default only plain ParentNodes do, subclasses need to override it to have their length known before rendering.
+     */
+    protected boolean keepsChildrenText() {
+        return this.getClass() == ParentNode.class;
+    }
+
+    /**
+     * Compares state of this node other than children. Subclasses holding their own state need to override it
+     * together with {@link #hashCodeNoChildren()}, as by default only plain ParentNodes are compared structurally.
+     */
+    protected boolean equalsNoChildren(ParentNode node) {
+        return this.getClass() == ParentNode.class;
+    }
+
+    protected int hashCodeNoChildren() {
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        return o instanceof ParentNode node
+                && this.getClass() == node.getClass()
+                && this.hashCode() == node.hashCode()
+                && this.equalsNoChildren(node)
+                && Arrays.equals(this.children, node.children);
+    }
+
+    @Override
+    public int hashCode() {
+        var hash = this.hash;
+        if (hash == 0) {
+            hash = 31 * (31 * this.getClass().getName().hashCode() + this.hashCodeNoChildren()) + Arrays.hashCode(this.children);
+            if (hash == 0) {
+                hash = 1;
+            }
+            this.hash = hash;
+        }
+        return hash;
+    }
+
     @Override
     public String toString() {
         return "ParentNode{" +
@@ -1,5 +1,6 @@
 package eu.pb4.placeholders.api.node.parent;
 
+import eu.pb4.placeholders.api.node.NodeMetadata;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.parsers.NodeParser;
 import eu.pb4.placeholders.impl.textparser.TextParserImpl;
@@ -28,6 +29,11 @@ public interface ParentTextNode extends TextNode {
         return this.isDynamicNoChildren();
     }
 
+    @Override
+    default NodeMetadata metadata() {
+        return NodeMetadata.ofChildren(this.getChildren(), this.isDynamicNoChildren() ? NodeMetadata.DYNAMIC_VALUE : NodeMetadata.EMPTY, false);
+    }
+
     default ParentTextNode copyWith(TextNode[] children, NodeParser parser) {
         return copyWith(children);
     }
@@ -1,11 +1,14 @@
 package eu.pb4.placeholders.api.node.parent;
 
+import eu.pb4.placeholders.api.node.NodeMetadata;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.parsers.NodeParser;
 import net.minecraft.text.*;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+
 public final class StyledNode extends ParentNode {
     private final Style style;
 
@@ -29,11 +32,11 @@ public final class StyledNode extends ParentNode {
         }
 
         if (clickValue != null && style.getClickEvent() != null) {
-            style = style.withClickEvent(new ClickEvent(style.getClickEvent().getAction(), this.clickValue.toText(context, true).getString()));
+            style = style.withClickEvent(new ClickEvent(style.getClickEvent().getAction(), this.clickValue.toPlainString(context)));
         }
 
         if (insertion != null) {
-            style = style.withInsertion(this.insertion.toText(context, true).getString());
+            style = style.withInsertion(this.insertion.toPlainString(context));
         }
         return style;
     }
@@ -63,6 +66,16 @@ public final class StyledNode extends ParentNode {
         return (out.getStyle() == Style.EMPTY ? out : Text.empty().append(out)).setStyle(this.style(context));
     }
 
+    @Override
+    protected Style applyStyle(Style style, ParserContext context) {
+        return this.style(context).withParent(style);
+    }
+
+    @Override
+    protected boolean keepsChildrenText() {
+        return true;
+    }
+
     @Override
     public ParentTextNode copyWith(TextNode[] children) {
         return new StyledNode(children, this.style, this.hoverValue, this.clickValue, this.insertion);
@@ -72,8 +85,13 @@ public final class StyledNode extends ParentNode {
     public ParentTextNode copyWith(TextNode[] children, NodeParser parser) {
         return new StyledNode(children, this.style,
                 this.hoverValue != null ? new ParentNode(parser.parseNodes(this.hoverValue)) : null,
-                this.clickValue != null ? TextNode.asSingle(parser.parseNodes(this.clickValue)) : null,
-                this.insertion != null ? TextNode.asSingle(parser.parseNodes(this.insertion)) : null);
+                this.clickValue != null ? parser.parseNode(this.clickValue) : null,
+                this.insertion != null ? parser.parseNode(this.insertion) : null);
+    }
+
+    @Override
+    protected NodeMetadata metadataNoChildren() {
+        return NodeMetadata.ofValues(this.hoverValue, this.clickValue, this.insertion);
     }
 
     @Override
@@ -82,6 +100,20 @@ public final class StyledNode extends ParentNode {
                 || (this.insertion != null && this.insertion.isDynamic());
     }
 
+    @Override
+    protected boolean equalsNoChildren(ParentNode node) {
+        var other = (StyledNode) node;
+        return this.style.equals(other.style)
+                && Objects.equals(this.hoverValue, other.hoverValue)
+                && Objects.equals(this.clickValue, other.clickValue)
+                && Objects.equals(this.insertion, other.insertion);
+    }
+
+    @Override
+    protected int hashCodeNoChildren() {
+        return Objects.hash(this.style, this.hoverValue, this.clickValue, this.insertion);
+    }
+
     @Override
     public String toString() {
         return "StyledNode{" +
@@ -1,6 +1,5 @@
 package eu.pb4.placeholders.api.parsers;
 
-import com.mojang.brigadier.StringReader;
 import eu.pb4.placeholders.api.node.LiteralNode;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.node.TranslatedNode;
@@ -8,7 +7,6 @@ import eu.pb4.placeholders.api.node.parent.ColorNode;
 import eu.pb4.placeholders.api.node.parent.FormattingNode;
 import eu.pb4.placeholders.api.node.parent.ParentTextNode;
 import eu.pb4.placeholders.impl.textparser.TextParserImpl;
-import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
 import net.minecraft.text.TextColor;
 import net.minecraft.util.Formatting;
 
@@ -16,125 +14,187 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Parses legacy formatting codes (&amp;a, &amp;l...) and optionally rgb colors (&amp;#rrggbb and &amp;x&amp;r&amp;r&amp;g&amp;g&amp;b&amp;b).
+ * Formatting applies to everything after it within same parent, including following sibling nodes.
+ */
 public class LegacyFormattingParser implements NodeParser {
     public static NodeParser COLORS = new LegacyFormattingParser(true, Arrays.stream(Formatting.values()).filter(x -> !x.isColor()).toArray(x -> new Formatting[x]));
     public static NodeParser BASE_COLORS = new LegacyFormattingParser(false, Arrays.stream(Formatting.values()).filter(x -> !x.isColor()).toArray(x -> new Formatting[x]));
     public static NodeParser ALL = new LegacyFormattingParser(true, Formatting.values());
-    private final Char2ObjectOpenHashMap<Formatting> map = new Char2ObjectOpenHashMap<>();
+    private final Formatting[] formatting = new Formatting[128];
     private final boolean allowRgb;
 
     public LegacyFormattingParser(boolean allowRgb, Formatting... allowedFormatting) {
         this.allowRgb = allowRgb;
         for (var formatting : allowedFormatting) {
-            this.map.put(formatting.getCode(), formatting);
+            if (formatting.getCode() < 128) {
+                this.formatting[formatting.getCode()] = formatting;
+            }
         }
     }
 
     @Override
     public TextNode[] parseNodes(TextNode input) {
-        return parseNodes(input, new ArrayList<>());
-    }
-
-    public TextNode[] parseNodes(TextNode input, List<TextNode> nextNodes) {
         if (input instanceof LiteralNode literalNode) {
-            return parseLiteral(literalNode, nextNodes);
+            if (literalNode.value().indexOf('&') == -1) {
+                return new TextNode[] { literalNode };
+            }
+            return this.parseChildren(new TextNode[] { input });
         } else if (input instanceof TranslatedNode translatedNode) {
-            var list = new ArrayList<>();
-            for (var arg : translatedNode.args()) {
-                if (arg instanceof TextNode textNode) {
-                    list.add(TextNode.asSingle(this.parseNodes(textNode)));
-                } else {
-                    list.add(arg);
+            var args = translatedNode.args().clone();
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] instanceof TextNode textNode) {
+                    args[i] = this.parseNode(textNode);
                 }
             }
-            return new TextNode[] { TranslatedNode.ofFallback(translatedNode.key(), translatedNode.fallback(), list.toArray()) };
+            return new TextNode[] { TranslatedNode.ofFallback(translatedNode.key(), translatedNode.fallback(), args) };
         } else if (input instanceof ParentTextNode parentTextNode) {
-            return parseParents(parentTextNode);
+            return new TextNode[] { parentTextNode.copyWith(this.parseChildren(parentTextNode.getChildren()), this) };
         } else {
             return new TextNode[] { input };
         }
     }
 
-    private TextNode[] parseParents(ParentTextNode parentTextNode) {
-        var list = new ArrayList<TextNode>();
-
-        if (parentTextNode.getChildren().length > 0) {
-            var nodes = new ArrayList<>(List.of(parentTextNode.getChildren()));
-            while (!nodes.isEmpty()) {
-                list.add(TextNode.asSingle(parseNodes(nodes.remove(0), nodes)));
-            }
+    /**
+     * Parses input, with formatting found in it also applied to next nodes (which are removed from the list in such case).
+     */
+    @Deprecated
+    public TextNode[] parseNodes(TextNode input, List<TextNode> nextNodes) {
+        var out = this.parseNodes(input);
+
+        if (input instanceof LiteralNode && (out.length != 1 || out[0] != input) && !nextNodes.isEmpty()) {
+            var children = new ArrayList<TextNode>(nextNodes.size() + 1);
+            children.add(input);
+            children.addAll(nextNodes);
+            nextNodes.clear();
+            return this.parseChildren(children.toArray(TextParserImpl.CASTER));
         }
 
-        return new TextNode[] { parentTextNode.copyWith(list.toArray(TextParserImpl.CASTER), this) };
+        return out;
     }
 
-    private TextNode[] parseLiteral(LiteralNode literalNode, List<TextNode> nexts) {
-        var builder = new StringBuilder();
-        var reader = new StringReader(literalNode.value());
-
-        while (reader.canRead(2)) {
-            var i = reader.read();
+    @Override
+    public TextNode parseNode(TextNode input) {
+        if (input instanceof LiteralNode literalNode && literalNode.value().indexOf('&') == -1) {
+            return input;
+        }
+        return TextNode.asSingle(this.parseNodes(input));
+    }
 
-            if (i == '\\') {
-                i = reader.read();
+    @Override
+    public String triggerCharacters() {
+        return "&";
+    }
 
-                builder.append('\\');
-                builder.append(i);
+    /**
+     * Parses children of a single parent in one pass. Every formatting code opens a new node, that contains everything
+     * after it, so following content is always added to the innermost one. Nodes are closed once all children are processed.
+     */
+    private TextNode[] parseChildren(TextNode[] children) {
+        var frames = new ArrayList<ArrayList<TextNode>>();
+        var formats = new ArrayList<>();
+        var current = new ArrayList<TextNode>(children.length);
+        frames.add(current);
+        formats.add(null);
+
+        for (var child : children) {
+            if (!(child instanceof LiteralNode literalNode)) {
+                if (child != null) {
+                    current.add(this.parseNode(child));
+                }
+                continue;
+            }
 
-            } else if (i == '&') {
-                i = reader.read();
+            var string = literalNode.value();
+            var length = string.length();
+            var segmentStart = 0;
+            var i = 0;
 
-                if (allowRgb && i == '#' && reader.canRead(6)) {
-                    var start = reader.getCursor();
-                    try {
-                        StringBuilder builder1 = new StringBuilder();
+            while (i + 1 < length) {
+                var c = string.charAt(i);
 
-                        for (int z = 0; z < 6; z++) {
-                            builder1.append(reader.read());
-                        }
+                if (c == '\\') {
+                    i += 2;
+                    continue;
+                } else if (c != '&') {
+                    i++;
+                    continue;
+                }
 
-                        var rgb = Integer.parseInt(builder1.toString(), 16);
+                var code = string.charAt(i + 1);
+                Object format = null;
+                var end = i + 2;
 
-                        var list = new ArrayList<TextNode>();
-                        list.addAll(nexts);
-                        nexts.clear();
+                if (this.allowRgb && code == '#' && i + 8 <= length) {
+                    var rgb = parseHex(string, i + 2, 1);
+                    if (rgb != -1) {
+                        format = TextColor.fromRgb(rgb);
+                        end = i + 8;
+                    }
+                } else if (this.allowRgb && code == 'x' && i + 14 <= length) {
+                    var rgb = parseHex(string, i + 2, 2);
+                    if (rgb != -1) {
+                        format = TextColor.fromRgb(rgb);
+                        end = i + 14;
+                    }
+                }
 
-                        var base = TextNode.asSingle(parseLiteral(new LiteralNode(reader.getRemaining()), list));
-                        list.add(0, base);
+                if (format == null && code < 128) {
+                    format = this.formatting[code];
+                }
 
-                        return new TextNode[] {
-                                new LiteralNode(builder.toString()),
-                                new ColorNode(list.toArray(TextParserImpl.CASTER), TextColor.fromRgb(rgb))
-                        };
-                    } catch (Throwable e) {
-                        //noop
+                if (format != null) {
+                    if (i > segmentStart) {
+                        current.add(new LiteralNode(string.substring(segmentStart, i)));
                     }
 
-                    reader.setCursor(start);
+                    current = new ArrayList<>();
+                    frames.add(current);
+                    formats.add(format);
+                    segmentStart = end;
                 }
 
-                var x = this.map.get(i);
+                i = end;
+            }
 
-                if (x != null) {
-                    var list = new ArrayList<TextNode>();
-                    list.addAll(nexts);
-                    nexts.clear();
+            if (segmentStart == 0) {
+                current.add(literalNode);
+            } else if (segmentStart < length) {
+                current.add(new LiteralNode(string.substring(segmentStart)));
+            }
+        }
 
-                    var base = TextNode.asSingle(parseLiteral(new LiteralNode(reader.getRemaining()), list));
+        for (int i = frames.size() - 1; i > 0; i--) {
+            var nodes = frames.get(i).toArray(TextParserImpl.CASTER);
+            var format = formats.get(i);
+            frames.get(i - 1).add(format instanceof Formatting formatting
+                    ? new FormattingNode(nodes, formatting)
+                    : new ColorNode(nodes, (TextColor) format));
+        }
 
-                    list.add(0, base);
+        return frames.get(0).toArray(TextParserImpl.CASTER);
+    }
 
-                    return new TextNode[] {
-                            new LiteralNode(builder.toString()),
-                            new FormattingNode(list.toArray(TextParserImpl.CASTER), x)
-                    };
-                } else {
-                    builder.append('&');
-                }
+    /**
+     * Parses 6 hex digits, either placed directly after each other (step 1) or each prefixed with &amp; (step 2).
+     *
+     * @return parsed value or -1 if input isn't valid
+     */
+    private static int parseHex(String string, int start, int step) {
+        var value = 0;
+        for (int i = 0; i < 6; i++) {
+            var pos = start + i * step;
+            if (step == 2 && string.charAt(pos) != '&') {
+                return -1;
             }
-            builder.append(i);
-        }
 
-        return new TextNode[] { literalNode };
+            var digit = Character.digit(string.charAt(pos + step - 1), 16);
+            if (digit == -1) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
     }
 }
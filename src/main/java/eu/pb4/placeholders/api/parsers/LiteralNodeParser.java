@@ -0,0 +1,59 @@
+package eu.pb4.placeholders.api.parsers;
+
+import eu.pb4.placeholders.api.node.LiteralNode;
+import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.api.node.TranslatedNode;
+import eu.pb4.placeholders.api.node.parent.ParentTextNode;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * NodeParser that only transforms LiteralNodes, keeping structure of everything else as is.
+ * When merged with {@link NodeParser#merge(NodeParser...)}, consecutive LiteralNodeParsers are executed
+ * within a single traversal of the node tree.
+ */
+public interface LiteralNodeParser extends NodeParser {
+    /**
+     * Parses single literal.
+     *
+     * @return parsed nodes or null, if literal should be kept as is
+     */
+    TextNode @Nullable [] parseLiteral(LiteralNode literalNode);
+
+    @Override
+    default TextNode[] parseNodes(TextNode input) {
+        if (input instanceof LiteralNode literalNode) {
+            var out = this.parseLiteral(literalNode);
+            return out != null ? out : new TextNode[] { literalNode };
+        } else if (input instanceof TranslatedNode translatedNode) {
+            var args = translatedNode.args().clone();
+
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] instanceof TextNode textNode) {
+                    args[i] = this.parseNode(textNode);
+                }
+            }
+
+            return new TextNode[] { TranslatedNode.ofFallback(translatedNode.key(), translatedNode.fallback(), args) };
+        } else if (input instanceof ParentTextNode parentTextNode) {
+            var children = parentTextNode.getChildren();
+            var out = new TextNode[children.length];
+
+            for (int i = 0; i < children.length; i++) {
+                out[i] = children[i] != null ? this.parseNode(children[i]) : null;
+            }
+
+            return new TextNode[] { parentTextNode.copyWith(out, this) };
+        }
+
+        return new TextNode[] { input };
+    }
+
+    @Override
+    default TextNode parseNode(TextNode input) {
+        if (input instanceof LiteralNode literalNode) {
+            var out = this.parseLiteral(literalNode);
+            return out != null ? TextNode.asSingle(out) : literalNode;
+        }
+        return TextNode.asSingle(this.parseNodes(input));
+    }
+}
@@ -1,23 +1,20 @@
 package eu.pb4.placeholders.api.parsers;
 
-import com.mojang.brigadier.StringReader;
 import eu.pb4.placeholders.api.node.LiteralNode;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.node.TranslatedNode;
 import eu.pb4.placeholders.api.node.parent.*;
 import eu.pb4.placeholders.impl.textparser.TextParserImpl;
+import eu.pb4.placeholders.impl.textparser.TriggerFilter;
 import net.minecraft.text.ClickEvent;
 import net.minecraft.text.HoverEvent;
 import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.ListIterator;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 public final class MarkdownLiteParserV1 implements NodeParser {
@@ -73,310 +70,391 @@ public final class MarkdownLiteParserV1 implements NodeParser {
     @Override
     public TextNode[] parseNodes(TextNode input) {
         if (input instanceof LiteralNode literalNode) {
-            var list = new ArrayList<SubNode<?>>();
-            parseLiteral(literalNode, list::add);
-            return parseSubNodes(list.listIterator(), null, -1, false);
+            if (!TriggerFilter.isTriggered(this.triggerCharacters(), literalNode.value())) {
+                return new TextNode[]{literalNode};
+            }
+
+            var tokens = new Tokens(literalNode.value().length(), 0);
+            tokens.tokenize(literalNode.value());
+            return this.parseTokens(tokens);
         } else if (input instanceof TranslatedNode translatedNode) {
             var list = new ArrayList<>();
             for (var arg : translatedNode.args()) {
                 if (arg instanceof TextNode textNode) {
-                    list.add(TextNode.asSingle(this.parseNodes(textNode)));
+                    list.add(this.parseNode(textNode));
                 } else {
                     list.add(arg);
                 }
             }
             return new TextNode[]{TranslatedNode.ofFallback(translatedNode.key(), translatedNode.fallback(), list.toArray())};
         } else if (input instanceof ParentTextNode parentTextNode) {
-            var list = new ArrayList<SubNode<?>>();
-            for (var children : parentTextNode.getChildren()) {
-                if (children instanceof LiteralNode literalNode) {
-                    parseLiteral(literalNode, list::add);
+            var children = parentTextNode.getChildren();
+            var length = 0;
+            for (var children1 : children) {
+                if (children1 instanceof LiteralNode literalNode) {
+                    length += literalNode.value().length();
+                }
+            }
+
+            var tokens = new Tokens(length, children.length);
+            for (var children1 : children) {
+                if (children1 instanceof LiteralNode literalNode) {
+                    tokens.tokenize(literalNode.value());
                 } else {
-                    list.add(new SubNode<>(SubNodeType.TEXT_NODE, TextNode.asSingle(parseNodes(children))));
+                    tokens.addNode(this.parseNode(children1));
                 }
             }
-            return new TextNode[]{parentTextNode.copyWith(parseSubNodes(list.listIterator(), null, -1, false), this)};
+            return new TextNode[]{parentTextNode.copyWith(this.parseTokens(tokens), this)};
         } else {
             return new TextNode[]{input};
         }
     }
 
-    private void parseLiteral(LiteralNode literalNode, Consumer<SubNode<?>> consumer) {
-        var reader = new StringReader(literalNode.value());
-        var builder = new StringBuilder();
-
-        while (reader.canRead()) {
-            var i = reader.read();
-            if (i == '\\' && reader.canRead()) {
-                var next = reader.read();
-                //if (next != '~' && next != '`' && next != '_' && next != '*' && next != '|') {
-                builder.append(i);
-                //}
-                builder.append(next);
-                continue;
-            }
-            SubNodeType<String> type = null;
+    @Override
+    public TextNode parseNode(TextNode input) {
+        if (input instanceof LiteralNode literalNode && !TriggerFilter.isTriggered(this.triggerCharacters(), literalNode.value())) {
+            return input;
+        }
+        return TextNode.asSingle(this.parseNodes(input));
+    }
 
-            if (reader.canRead()) {
-                var i2 = reader.read();
+    @Override
+    public String triggerCharacters() {
+        return "`*_~|[]()";
+    }
 
-                if (i2 == i) {
-                    type = switch (i) {
-                        case '~' -> SubNodeType.DOUBLE_WAVY_LINE;
-                        case '|' -> SubNodeType.SPOILER_LINE;
-                        default -> null;
-                    };
-                }
+    /*
+     * Parsing works in two linear passes over tokens.
+     *
+     * First one goes from right to left and for every token computes where parsing continues after it (step) and
+     * which formatting it opens (if any). Formatting is opened only if its closing token can be found, which is stored
+     * for every (position, closer) pair in `ends`. As whatever happens at a token doesn't depend on what's before it,
+     * every such pair only needs to be computed once, instead of rescanning rest of the input for every opening token.
+     *
+     * Second pass builds nodes, by following steps from start and descending into opened formatting.
+     */
+    private TextNode[] parseTokens(Tokens tokens) {
+        var size = tokens.size;
+        var type = tokens.type;
+        var step = new int[size];
+        var kind = new byte[size];
+        var ends = new int[CLOSER_COUNT * (size + 1)];
+
+        for (int c = 0; c < CLOSER_COUNT; c++) {
+            ends[c * (size + 1) + size] = -1;
+        }
 
-                if (type == null) {
-                    reader.setCursor(reader.getCursor() - 1);
+        var quote = this.allowedFormatting.contains(MarkdownFormat.QUOTE);
+        var spoiler = this.allowedFormatting.contains(MarkdownFormat.SPOILER);
+        var strikethrough = this.allowedFormatting.contains(MarkdownFormat.STRIKETHROUGH);
+        var bold = this.allowedFormatting.contains(MarkdownFormat.BOLD);
+        var underline = this.allowedFormatting.contains(MarkdownFormat.UNDERLINE);
+        var italic = this.allowedFormatting.contains(MarkdownFormat.ITALIC);
+        var url = this.allowedFormatting.contains(MarkdownFormat.URL);
+
+        for (int i = size - 1; i >= 0; i--) {
+            var t = type[i];
+            int end = -1;
+            byte k = KIND_NONE;
+
+            if (t == TOKEN_BACK_TICK && quote) {
+                end = ends[CLOSER_BACK_TICK * (size + 1) + i + 1];
+                k = KIND_QUOTE;
+            } else if (t == TOKEN_SPOILER && spoiler) {
+                end = ends[CLOSER_SPOILER * (size + 1) + i + 1];
+                k = KIND_SPOILER;
+            } else if (t == TOKEN_DOUBLE_WAVY && strikethrough) {
+                end = ends[CLOSER_DOUBLE_WAVY * (size + 1) + i + 1];
+                k = KIND_STRIKETHROUGH;
+            } else if (t == TOKEN_STAR || t == TOKEN_FLOOR) {
+                var star = t == TOKEN_STAR;
+                if (i + 1 < size && (star ? bold : underline) && type[i + 1] == t) {
+                    // Unclosed double one is kept as a literal, without trying italic
+                    end = ends[(star ? CLOSER_BOLD : CLOSER_UNDERLINE) * (size + 1) + i + 2];
+                    k = star ? KIND_BOLD : KIND_UNDERLINE;
+                } else if (italic) {
+                    end = ends[(star ? CLOSER_STAR : CLOSER_FLOOR) * (size + 1) + i + 1];
+                    k = star ? KIND_ITALIC_STAR : KIND_ITALIC_FLOOR;
+                }
+            } else if (t == TOKEN_SQR_BRACKET_OPEN && url && i + 1 < size) {
+                var valueEnd = ends[CLOSER_SQR_BRACKET * (size + 1) + i + 1];
+                if (valueEnd != -1 && valueEnd < size && type[valueEnd] == TOKEN_BRACKET_OPEN) {
+                    end = ends[CLOSER_BRACKET * (size + 1) + valueEnd + 1];
+                    k = KIND_URL;
                 }
             }
 
-            if (type == null) {
-                type = switch (i) {
-                    case '`' -> SubNodeType.BACK_TICK;
-                    case '*' -> SubNodeType.STAR;
-                    case '_' -> SubNodeType.FLOOR;
-                    case '(' -> SubNodeType.BRACKET_OPEN;
-                    case ')' -> SubNodeType.BRACKET_CLOSE;
-                    case '[' -> SubNodeType.SQR_BRACKET_OPEN;
-                    case ']' -> SubNodeType.SQR_BRACKET_CLOSE;
-                    default -> null;
-                };
+            if (end == -1) {
+                step[i] = i + 1;
+                kind[i] = KIND_NONE;
+            } else {
+                step[i] = end;
+                kind[i] = k;
             }
 
-            if (type != null) {
-                if (!builder.isEmpty()) {
-                    consumer.accept(new SubNode<>(SubNodeType.STRING, builder.toString()));
-                    builder = new StringBuilder();
-                }
-                consumer.accept(new SubNode<>(type, type.selfValue));
-            } else {
-                builder.append(i);
+            var next = step[i];
+            for (int c = 0; c < CLOSER_COUNT; c++) {
+                var close = tokens.closes(c, i);
+                ends[c * (size + 1) + i] = close != -1 ? close : next >= size ? -1 : ends[c * (size + 1) + next];
             }
         }
 
-
-        if (!builder.isEmpty()) {
-            consumer.accept(new SubNode<>(SubNodeType.STRING, builder.toString()));
-        }
+        return this.buildNodes(tokens, step, kind, ends);
     }
 
-    private TextNode[] parseSubNodes(ListIterator<SubNode<?>> nodes, @Nullable SubNodeType endAt, int count, boolean requireEmpty) {
-        var out = new ArrayList<TextNode>();
-        int startIndex = nodes.nextIndex();
-        var builder = new StringBuilder();
-        while (nodes.hasNext()) {
-            var next = nodes.next();
-
-            if (next.type == endAt) {
-                int foundCount = 1;
-
-                boolean endingOrSpace;
-                if (requireEmpty && nodes.hasNext()) {
-                    var prev = nodes.next();
-                    endingOrSpace = prev.type != SubNodeType.STRING || ((String) prev.value).startsWith(" ");
-                    nodes.previous();
-                } else {
-                    endingOrSpace = true;
-                }
+    private TextNode[] buildNodes(Tokens tokens, int[] step, byte[] kind, int[] ends) {
+        var size = tokens.size;
+        var stack = new ArrayList<Frame>();
+        var frame = new Frame(KIND_NONE, -1, 0);
 
-                if (foundCount == count && endingOrSpace) {
-                    if (!builder.isEmpty()) {
-                        out.add(new LiteralNode(builder.toString()));
-                    }
-                    return out.toArray(TextParserImpl.CASTER);
-                }
+        while (true) {
+            var pos = frame.pos;
 
-                var xStart = nodes.nextIndex();
-
-                while (nodes.hasNext()) {
-                    if (nodes.next().type == endAt) {
-                        if ((++foundCount) == count) {
-                            if (requireEmpty && nodes.hasNext()) {
-                                var prev = nodes.next();
-                                nodes.previous();
-                                if (prev.type == SubNodeType.STRING && !((String) prev.value).startsWith(" ")) {
-                                    break;
-                                }
-                            }
-
-                            if (!builder.isEmpty()) {
-                                out.add(new LiteralNode(builder.toString()));
-                            }
-                            return out.toArray(TextParserImpl.CASTER);
-                        }
-                    } else {
-                        break;
-                    }
+            if (frame.closer == -1 ? pos >= size : tokens.closes(frame.closer, pos) != -1) {
+                var nodes = frame.finish();
+
+                if (stack.isEmpty()) {
+                    return nodes;
                 }
 
-                while (xStart != nodes.nextIndex()) {
-                    nodes.previous();
+                if (frame.kind == KIND_URL) {
+                    // Value is done, now parse the url part
+                    var valueEnd = ends[CLOSER_SQR_BRACKET * (size + 1) + frame.origin + 1];
+                    var link = new Frame(KIND_URL_LINK, CLOSER_BRACKET, valueEnd + 1);
+                    link.value = nodes;
+                    frame = link;
+                    continue;
                 }
+
+                var parent = stack.remove(stack.size() - 1);
+                parent.add(switch (frame.kind) {
+                    case KIND_QUOTE -> this.backtickFormatting.apply(nodes);
+                    case KIND_SPOILER -> this.spoilerFormatting.apply(nodes);
+                    case KIND_STRIKETHROUGH -> new FormattingNode(nodes, Formatting.STRIKETHROUGH);
+                    case KIND_BOLD -> new FormattingNode(nodes, Formatting.BOLD);
+                    case KIND_UNDERLINE -> new FormattingNode(nodes, Formatting.UNDERLINE);
+                    case KIND_URL_LINK -> this.urlFormatting.apply(frame.value, TextNode.asSingle(nodes));
+                    default -> new FormattingNode(nodes, Formatting.ITALIC);
+                });
+                frame = parent;
+                continue;
             }
 
-            if (next.type == SubNodeType.TEXT_NODE) {
-                if (!builder.isEmpty()) {
-                    out.add(new LiteralNode(builder.toString()));
-                    builder = new StringBuilder();
+            var k = kind[pos];
+            frame.pos = step[pos];
+
+            if (k == KIND_NONE) {
+                if (tokens.type[pos] == TOKEN_TEXT_NODE) {
+                    frame.add(tokens.nodes.get(tokens.start[pos]));
+                } else {
+                    frame.builder.append(tokens.source, tokens.start[pos], tokens.end[pos]);
                 }
-                out.add((TextNode) next.value);
                 continue;
-            } else if (next.type == SubNodeType.STRING) {
-                builder.append((String) next.value);
-                continue;
-            } else if (next.type == SubNodeType.BACK_TICK && this.allowedFormatting.contains(MarkdownFormat.QUOTE)) {
-                var value = parseSubNodes(nodes, next.type, 1, false);
+            }
 
-                if (value != null) {
-                    if (!builder.isEmpty()) {
-                        out.add(new LiteralNode(builder.toString()));
-                        builder = new StringBuilder();
-                    }
-                    out.add(this.backtickFormatting.apply(value));
-                    continue;
-                }
-            } else if (next.type == SubNodeType.SPOILER_LINE && this.allowedFormatting.contains(MarkdownFormat.SPOILER)) {
-                var value = parseSubNodes(nodes, next.type, 1, false);
+            stack.add(frame);
+            frame = new Frame(k, switch (k) {
+                case KIND_QUOTE -> CLOSER_BACK_TICK;
+                case KIND_SPOILER -> CLOSER_SPOILER;
+                case KIND_STRIKETHROUGH -> CLOSER_DOUBLE_WAVY;
+                case KIND_BOLD -> CLOSER_BOLD;
+                case KIND_UNDERLINE -> CLOSER_UNDERLINE;
+                case KIND_ITALIC_STAR -> CLOSER_STAR;
+                case KIND_ITALIC_FLOOR -> CLOSER_FLOOR;
+                default -> CLOSER_SQR_BRACKET;
+            }, k == KIND_BOLD || k == KIND_UNDERLINE ? pos + 2 : pos + 1);
+            frame.origin = pos;
+        }
+    }
 
-                if (value != null) {
-                    if (!builder.isEmpty()) {
-                        out.add(new LiteralNode(builder.toString()));
-                        builder = new StringBuilder();
-                    }
-                    out.add(this.spoilerFormatting.apply(value));
-                    continue;
-                }
-            } else if (next.type == SubNodeType.DOUBLE_WAVY_LINE && this.allowedFormatting.contains(MarkdownFormat.STRIKETHROUGH)) {
-                var value = parseSubNodes(nodes, next.type, 1, false);
+    public enum MarkdownFormat {
+        BOLD,
+        ITALIC,
+        UNDERLINE,
+        STRIKETHROUGH,
+        QUOTE,
+        SPOILER,
+        URL
+    }
+
+    private static final byte TOKEN_TEXT_NODE = 0;
+    private static final byte TOKEN_STRING = 1;
+    private static final byte TOKEN_STAR = 2;
+    private static final byte TOKEN_FLOOR = 3;
+    private static final byte TOKEN_DOUBLE_WAVY = 4;
+    private static final byte TOKEN_BACK_TICK = 5;
+    private static final byte TOKEN_SPOILER = 6;
+    private static final byte TOKEN_BRACKET_OPEN = 7;
+    private static final byte TOKEN_BRACKET_CLOSE = 8;
+    private static final byte TOKEN_SQR_BRACKET_OPEN = 9;
+    private static final byte TOKEN_SQR_BRACKET_CLOSE = 10;
+
+    // Closing tokens searched by opened formatting: token type, required amount and whatever it needs to be followed by space/non-text
+    private static final int CLOSER_BACK_TICK = 0;
+    private static final int CLOSER_SPOILER = 1;
+    private static final int CLOSER_DOUBLE_WAVY = 2;
+    private static final int CLOSER_BOLD = 3;
+    private static final int CLOSER_UNDERLINE = 4;
+    private static final int CLOSER_STAR = 5;
+    private static final int CLOSER_FLOOR = 6;
+    private static final int CLOSER_SQR_BRACKET = 7;
+    private static final int CLOSER_BRACKET = 8;
+    private static final int CLOSER_COUNT = 9;
+    private static final byte[] CLOSER_TYPE = { TOKEN_BACK_TICK, TOKEN_SPOILER, TOKEN_DOUBLE_WAVY, TOKEN_STAR, TOKEN_FLOOR, TOKEN_STAR, TOKEN_FLOOR, TOKEN_SQR_BRACKET_CLOSE, TOKEN_BRACKET_CLOSE };
+
+    private static final byte KIND_NONE = 0;
+    private static final byte KIND_QUOTE = 1;
+    private static final byte KIND_SPOILER = 2;
+    private static final byte KIND_STRIKETHROUGH = 3;
+    private static final byte KIND_BOLD = 4;
+    private static final byte KIND_UNDERLINE = 5;
+    private static final byte KIND_ITALIC_STAR = 6;
+    private static final byte KIND_ITALIC_FLOOR = 7;
+    private static final byte KIND_URL = 8;
+    private static final byte KIND_URL_LINK = 9;
+
+    /**
+     * Tokens stored as type and range within combined source. For TEXT_NODE tokens start is an index within nodes.
+     */
+    private static final class Tokens {
+        private final StringBuilder source;
+        private final ArrayList<TextNode> nodes = new ArrayList<>();
+        private byte[] type;
+        private int[] start;
+        private int[] end;
+        private int size;
+
+        private Tokens(int length, int nodes) {
+            var capacity = length + nodes;
+            this.source = new StringBuilder(length);
+            this.type = new byte[capacity];
+            this.start = new int[capacity];
+            this.end = new int[capacity];
+        }
+
+        private void add(byte type, int start, int end) {
+            this.type[this.size] = type;
+            this.start[this.size] = start;
+            this.end[this.size] = end;
+            this.size++;
+        }
+
+        private void addNode(TextNode node) {
+            this.add(TOKEN_TEXT_NODE, this.nodes.size(), 0);
+            this.nodes.add(node);
+        }
 
-                if (value != null) {
-                    if (!builder.isEmpty()) {
-                        out.add(new LiteralNode(builder.toString()));
-                        builder = new StringBuilder();
+        private void tokenize(String input) {
+            var offset = this.source.length();
+            this.source.append(input);
+
+            var length = input.length();
+            var stringStart = -1;
+            var i = 0;
+
+            while (i < length) {
+                var c = input.charAt(i);
+
+                if (c == '\\' && i + 1 < length) {
+                    if (stringStart == -1) {
+                        stringStart = i;
                     }
-                    out.add(new FormattingNode(value, Formatting.STRIKETHROUGH));
+                    i += 2;
                     continue;
                 }
-            } else if (next.type == SubNodeType.STAR || next.type == SubNodeType.FLOOR) {
-                boolean two = false;
-                if (nodes.hasNext()) {
-                    if ((next.type == SubNodeType.STAR && this.allowedFormatting.contains(MarkdownFormat.BOLD))
-                            || (next.type == SubNodeType.FLOOR && this.allowedFormatting.contains(MarkdownFormat.UNDERLINE))
-                    ) {
-                        var nexter = nodes.next();
-                        if (nexter.type == next.type) {
-                            two = true;
-                            var i = nodes.nextIndex();
-                            var value = parseSubNodes(nodes, next.type, 2, false);
-
-                            if (value != null) {
-                                if (!builder.isEmpty()) {
-                                    out.add(new LiteralNode(builder.toString()));
-                                    builder = new StringBuilder();
-                                }
-                                out.add(new FormattingNode(value, next.type == SubNodeType.STAR ? Formatting.BOLD : Formatting.UNDERLINE));
-                                continue;
-                            }
-                        }
-                        nodes.previous();
-                    }
-                }
 
-                if (!two && this.allowedFormatting.contains(MarkdownFormat.ITALIC)) {
-                    boolean startingOrSpace;
-                    if (nodes.hasPrevious()) {
-                        var prev = nodes.previous();
-                        startingOrSpace = prev.type != SubNodeType.STRING || ((String) prev.value).endsWith(" ");
-                        nodes.next();
-                    } else {
-                        startingOrSpace = true;
-                    }
+                byte type = -1;
+                var tokenLength = 1;
 
-                    if (startingOrSpace) {
-                        var value = parseSubNodes(nodes, next.type, 1, next.type == SubNodeType.FLOOR);
-
-                        if (value != null) {
-                            if (!builder.isEmpty()) {
-                                out.add(new LiteralNode(builder.toString()));
-                                builder = new StringBuilder();
-                            }
-                            out.add(new FormattingNode(value, Formatting.ITALIC));
-                            continue;
-                        }
+                if (i + 1 < length && input.charAt(i + 1) == c) {
+                    if (c == '~') {
+                        type = TOKEN_DOUBLE_WAVY;
+                        tokenLength = 2;
+                    } else if (c == '|') {
+                        type = TOKEN_SPOILER;
+                        tokenLength = 2;
                     }
                 }
-            } else if (next.type == SubNodeType.SQR_BRACKET_OPEN && this.allowedFormatting.contains(MarkdownFormat.URL) && nodes.hasNext()) {
-                var start = nodes.nextIndex();
-                var value = parseSubNodes(nodes, SubNodeType.SQR_BRACKET_CLOSE, 1, false);
-
-                if (value != null) {
-                    if (nodes.hasNext()) {
-                        var check = nodes.next().type == SubNodeType.BRACKET_OPEN;
-
-                        if (check) {
-                            var url = parseSubNodes(nodes, SubNodeType.BRACKET_CLOSE, 1, false);
-                            if (url != null) {
-                                if (!builder.isEmpty()) {
-                                    out.add(new LiteralNode(builder.toString()));
-                                    builder = new StringBuilder();
-                                }
-                                out.add(this.urlFormatting.apply(value, TextNode.asSingle(url)));
-                                continue;
-                            }
-                        }
-                    }
+
+                if (type == -1) {
+                    type = switch (c) {
+                        case '`' -> TOKEN_BACK_TICK;
+                        case '*' -> TOKEN_STAR;
+                        case '_' -> TOKEN_FLOOR;
+                        case '(' -> TOKEN_BRACKET_OPEN;
+                        case ')' -> TOKEN_BRACKET_CLOSE;
+                        case '[' -> TOKEN_SQR_BRACKET_OPEN;
+                        case ']' -> TOKEN_SQR_BRACKET_CLOSE;
+                        default -> -1;
+                    };
                 }
-                while (start != nodes.nextIndex()) {
-                    nodes.previous();
+
+                if (type != -1) {
+                    if (stringStart != -1) {
+                        this.add(TOKEN_STRING, offset + stringStart, offset + i);
+                        stringStart = -1;
+                    }
+                    this.add(type, offset + i, offset + i + tokenLength);
+                } else if (stringStart == -1) {
+                    stringStart = i;
                 }
+
+                i += tokenLength;
             }
 
-            builder.append((String) next.value);
+            if (stringStart != -1) {
+                this.add(TOKEN_STRING, offset + stringStart, offset + length);
+            }
         }
 
-        if (endAt == null) {
-            if (!builder.isEmpty()) {
-                out.add(new LiteralNode(builder.toString()));
+        /**
+         * @return position after closing token(s) if there is one at index, otherwise -1
+         */
+        private int closes(int closer, int index) {
+            if (this.type[index] != CLOSER_TYPE[closer]) {
+                return -1;
             }
-            return out.toArray(TextParserImpl.CASTER);
-        } else {
-            while (startIndex != nodes.nextIndex()) {
-                nodes.previous();
+
+            if (closer == CLOSER_BOLD || closer == CLOSER_UNDERLINE) {
+                return index + 1 < this.size && this.type[index + 1] == this.type[index] ? index + 2 : -1;
+            }
+
+            if (closer == CLOSER_FLOOR && index + 1 < this.size && this.type[index + 1] == TOKEN_STRING && this.source.charAt(this.start[index + 1]) != ' ') {
+                return -1;
             }
 
-            return null;
+            return index + 1;
         }
     }
 
-    public enum MarkdownFormat {
-        BOLD,
-        ITALIC,
-        UNDERLINE,
-        STRIKETHROUGH,
-        QUOTE,
-        SPOILER,
-        URL
-    }
+    private static final class Frame {
+        private final byte kind;
+        private final int closer;
+        private final ArrayList<TextNode> out = new ArrayList<>();
+        private StringBuilder builder = new StringBuilder();
+        private int pos;
+        private int origin;
+        private TextNode[] value;
+
+        private Frame(byte kind, int closer, int pos) {
+            this.kind = kind;
+            this.closer = closer;
+            this.pos = pos;
+        }
 
-    private record SubNodeType<T>(T selfValue) {
-        public static final SubNodeType<TextNode> TEXT_NODE = new SubNodeType<>(null);
-        public static final SubNodeType<String> STRING = new SubNodeType<>(null);
-
-        public static final SubNodeType<String> STAR = new SubNodeType<>("*");
-        public static final SubNodeType<String> FLOOR = new SubNodeType<>("_");
-        public static final SubNodeType<String> DOUBLE_WAVY_LINE = new SubNodeType<>("~~");
-        public static final SubNodeType<String> BACK_TICK = new SubNodeType<>("`");
-        public static final SubNodeType<String> SPOILER_LINE = new SubNodeType<>("||");
-        public static final SubNodeType<String> BRACKET_OPEN = new SubNodeType<>("(");
-        public static final SubNodeType<String> BRACKET_CLOSE = new SubNodeType<>(")");
-        public static final SubNodeType<String> SQR_BRACKET_OPEN = new SubNodeType<>("[");
-        public static final SubNodeType<String> SQR_BRACKET_CLOSE = new SubNodeType<>("]");
-    }
+        private void add(TextNode node) {
+            if (!this.builder.isEmpty()) {
+                this.out.add(new LiteralNode(this.builder.toString()));
+                this.builder = new StringBuilder();
+            }
+            this.out.add(node);
+        }
 
-    private record SubNode<T>(SubNodeType<T> type, T value) {
+        private TextNode[] finish() {
+            if (!this.builder.isEmpty()) {
+                this.out.add(new LiteralNode(this.builder.toString()));
+            }
+            return this.out.toArray(TextParserImpl.CASTER);
+        }
     }
-
 }
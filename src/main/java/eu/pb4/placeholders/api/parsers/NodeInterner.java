@@ -0,0 +1,47 @@
+package eu.pb4.placeholders.api.parsers;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.api.node.TranslatedNode;
+import eu.pb4.placeholders.api.node.parent.ParentTextNode;
+
+/**
+ * Deduplicates structurally equal TextNodes, so repeated parts of templates (formatting wrappers, common literals)
+ * are stored only once. Interned nodes are weakly referenced, so they can still be garbage collected once unused.
+ * If you want to use this, it should be a last step of parsing, as parsers create new copies of nodes they process.
+ */
+public record NodeInterner() implements NodeParser {
+    public static final NodeParser INSTANCE = new NodeInterner();
+    private static final Interner<TextNode> INTERNER = Interners.newWeakInterner();
+
+    @Override
+    public TextNode[] parseNodes(TextNode input) {
+        return new TextNode[] { intern(input) };
+    }
+
+    public static TextNode intern(TextNode node) {
+        if (node instanceof ParentTextNode parentNode) {
+            var children = parentNode.getChildren();
+            var interned = new TextNode[children.length];
+
+            for (int i = 0; i < children.length; i++) {
+                interned[i] = children[i] != null ? intern(children[i]) : null;
+            }
+
+            node = parentNode.copyWith(interned, INSTANCE);
+        } else if (node instanceof TranslatedNode translatedNode) {
+            var args = translatedNode.args().clone();
+
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] instanceof TextNode textNode) {
+                    args[i] = intern(textNode);
+                }
+            }
+
+            node = TranslatedNode.ofFallback(translatedNode.key(), translatedNode.fallback(), args);
+        }
+
+        return INTERNER.intern(node);
+    }
+}
@@ -5,6 +5,7 @@ import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.impl.textparser.MergedParser;
 import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -13,6 +14,21 @@ public interface NodeParser {
 
     TextNode[] parseNodes(TextNode input);
 
+    /**
+     * Characters, at least one of which needs to be present in a literal for this parser to modify it.
+     * It allows merged parsers to skip literals that none of them would change.
+     *
+     * @return trigger characters or null, if parser can modify any literal
+     */
+    @Nullable
+    default String triggerCharacters() {
+        return null;
+    }
+
+    /**
+     * Parses input into a single node. Parsers can override it to return input as is (without allocating anything)
+     * when they don't change it, so it should be preferred over {@link #parseNodes(TextNode)} when single node is needed.
+     */
     default TextNode parseNode(TextNode input) {
         return TextNode.asSingle(this.parseNodes(input));
     }
@@ -22,7 +38,7 @@ public interface NodeParser {
     }
 
     default Text parseText(TextNode input, ParserContext context) {
-        return TextNode.asSingle(this.parseNodes(input)).toText(context, true);
+        return this.parseNode(input).toText(context, true);
     }
 
     default Text parseText(String input, ParserContext context) {
@@ -7,10 +7,8 @@ import eu.pb4.placeholders.api.Placeholders;
 import eu.pb4.placeholders.api.node.DirectTextNode;
 import eu.pb4.placeholders.api.node.LiteralNode;
 import eu.pb4.placeholders.api.node.TextNode;
-import eu.pb4.placeholders.api.node.TranslatedNode;
-import eu.pb4.placeholders.api.node.parent.ParentNode;
-import eu.pb4.placeholders.api.node.parent.ParentTextNode;
 import eu.pb4.placeholders.impl.placeholder.PlaceholderNode;
+import eu.pb4.placeholders.impl.textparser.TriggerFilter;
 import net.minecraft.text.Text;
 import org.jetbrains.annotations.Nullable;
 
@@ -20,7 +18,7 @@ import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public record PatternPlaceholderParser(Pattern pattern, Function<String, @Nullable TextNode> placeholderProvider) implements NodeParser {
+public record PatternPlaceholderParser(Pattern pattern, Function<String, @Nullable TextNode> placeholderProvider) implements LiteralNodeParser {
     public static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("(?<!((?<!(\\\\))\\\\))[%](?<id>[^%]+:[^%]+)[%]");
     public static final Pattern ALT_PLACEHOLDER_PATTERN = Pattern.compile("(?<!((?<!(\\\\))\\\\))[{](?<id>[^{}]+:[^{}]+)[}]");
 
@@ -53,67 +51,62 @@ public record PatternPlaceholderParser(Pattern pattern, Function<String, @Nullab
     }
 
     @Override
-    public TextNode[] parseNodes(TextNode text) {
-        if (text instanceof TranslatedNode translatedNode) {
-            var list = new ArrayList<>();
-
-            for (var arg : translatedNode.args()) {
-                if (arg instanceof TextNode textNode) {
-                    list.add(TextNode.asSingle(this.parseNodes(textNode)));
-                } else {
-                    list.add(arg);
-                }
-            }
-
-            return new TextNode[]{TranslatedNode.ofFallback(translatedNode.key(), translatedNode.fallback(), list.toArray())};
-
-        } else if (text instanceof LiteralNode literalNode) {
-            var out = new ArrayList<TextNode>();
+    public TextNode @Nullable [] parseLiteral(LiteralNode literalNode) {
+        String string = literalNode.value();
+        if (!TriggerFilter.isTriggered(this.triggerCharacters(), string)) {
+            return null;
+        }
 
-            String string = literalNode.value();
-            Matcher matcher = pattern.matcher(string);
-            int start;
-            int end;
+        Matcher matcher = pattern.matcher(string);
+        ArrayList<TextNode> out = null;
+        int start;
+        int end;
 
-            int previousEnd = 0;
+        int previousEnd = 0;
 
-            while (matcher.find()) {
-                var placeholder = matcher.group("id");
-                start = matcher.start();
-                end = matcher.end();
+        while (matcher.find()) {
+            var placeholder = matcher.group("id");
+            start = matcher.start();
+            end = matcher.end();
 
-                var output = this.placeholderProvider.apply(placeholder);
+            var output = this.placeholderProvider.apply(placeholder);
 
-                if (output != null) {
-                    if (start != 0) {
-                        out.add(new LiteralNode(string.substring(previousEnd, start)));
-                    }
-                    out.add(output);
+            if (output != null) {
+                if (out == null) {
+                    out = new ArrayList<>();
+                }
 
-                    previousEnd = end;
-                } else {
-                    matcher.region(start + 1, string.length());
+                if (start != previousEnd) {
+                    out.add(new LiteralNode(string.substring(previousEnd, start)));
                 }
-            }
+                out.add(output);
 
-            if (previousEnd != string.length()) {
-                out.add(new LiteralNode(string.substring(previousEnd)));
+                previousEnd = end;
+            } else {
+                matcher.region(start + 1, string.length());
             }
-
-            return out.toArray(new TextNode[0]);
         }
 
+        if (out == null) {
+            return null;
+        }
 
-        if (text instanceof ParentTextNode parentNode) {
-            var out = new ArrayList<TextNode>();
+        if (previousEnd != string.length()) {
+            out.add(new LiteralNode(string.substring(previousEnd)));
+        }
 
-            for (var text1 : parentNode.getChildren()) {
-                out.add(TextNode.asSingle(this.parseNodes(text1)));
-            }
+        return out.toArray(new TextNode[0]);
+    }
 
-            return new TextNode[]{parentNode.copyWith(out.toArray(new TextNode[0]), this)};
+    @Override
+    public @Nullable String triggerCharacters() {
+        if (this.pattern == PLACEHOLDER_PATTERN || this.pattern == PLACEHOLDER_PATTERN_CUSTOM) {
+            return "%";
+        } else if (this.pattern == ALT_PLACEHOLDER_PATTERN || this.pattern == ALT_PLACEHOLDER_PATTERN_CUSTOM) {
+            return "{";
+        } else if (this.pattern == PREDEFINED_PLACEHOLDER_PATTERN) {
+            return "$";
         }
-
-        return new TextNode[]{text};
+        return null;
     }
 }
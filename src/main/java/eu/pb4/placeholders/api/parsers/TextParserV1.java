@@ -17,7 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
-public class TextParserV1 implements NodeParser {
+public class TextParserV1 implements LiteralNodeParser {
 
     public static final TextParserV1 DEFAULT = new TextParserV1();
     public static final TextParserV1 SAFE = new TextParserV1();
@@ -74,8 +74,17 @@ public class TextParserV1 implements NodeParser {
     }
 
     @Override
-    public TextNode[] parseNodes(TextNode input) {
-        return parseNodesWith(input, this::getTagParser);
+    public TextNode @Nullable [] parseLiteral(LiteralNode literalNode) {
+        if (literalNode.value().indexOf('<') == -1) {
+            return null;
+        }
+
+        return TextParserImpl.parse(literalNode.value(), this::getTagParser);
+    }
+
+    @Override
+    public String triggerCharacters() {
+        return "<";
     }
 
     public TextParserV1 copy() {
@@ -6,7 +6,7 @@ import net.minecraft.text.Text;
 
 public record WrappedText(String input, TextNode textNode, Text text) {
     public static WrappedText from(NodeParser parser, String input) {
-        var node = TextNode.asSingle(parser.parseNodes(TextNode.of(input)));
+        var node = parser.parseNode(TextNode.of(input));
 
         return new WrappedText(input, node, node.toText(ParserContext.of(), true));
     }
@@ -2,6 +2,7 @@ package eu.pb4.placeholders.impl;
 
 import eu.pb4.placeholders.api.node.*;
 import eu.pb4.placeholders.api.node.parent.*;
+import eu.pb4.placeholders.impl.format.NumberFormatter;
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.api.Version;
 import net.fabricmc.loader.api.VersionParsingException;
@@ -9,10 +10,12 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.text.*;
 import net.minecraft.util.Formatting;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.List;
 
 
 @ApiStatus.Internal
@@ -34,22 +37,7 @@ public class GeneralUtils {
     }
 
     public static String durationToString(long x) {
-        long seconds = x % 60;
-        long minutes = (x / 60) % 60;
-        long hours = (x / (60 * 60)) % 24;
-        long days = x / (60 * 60 * 24);
-
-        if (days > 0) {
-            return String.format("%dd%dh%dm%ds", days, hours, minutes, seconds);
-        } else if (hours > 0) {
-            return String.format("%dh%dm%ds", hours, minutes, seconds);
-        } else if (minutes > 0) {
-            return String.format("%dm%ds", minutes, seconds);
-        } else if (seconds > 0) {
-            return String.format("%ds", seconds);
-        } else {
-            return "---";
-        }
+        return NumberFormatter.duration(x);
     }
 
     public static boolean isEmpty(Text text) {
@@ -60,10 +48,14 @@ public class GeneralUtils {
     }
 
     public static MutableText toGradient(Text base, GradientNode.GradientProvider posToColor) {
-        return recursiveGradient(base, posToColor, 0, getGradientLength(base)).text();
+        return toGradient(base, posToColor, getGradientLength(base));
     }
 
-    private static int getGradientLength(Text base) {
+    public static MutableText toGradient(Text base, GradientNode.GradientProvider posToColor, int length) {
+        return recursiveGradient(base, posToColor, 0, length).text();
+    }
+
+    public static int getGradientLength(Text base) {
         int length = base.getContent() instanceof LiteralTextContent l ? l.string().length() : base.getContent() == TextContent.EMPTY ? 0 : 1;
 
         for (var text : base.getSiblings()) {
@@ -162,29 +154,66 @@ public class GeneralUtils {
     }
 
     public static Text removeHoverAndClick(Text input) {
-        var output = cloneText(input);
-        removeHoverAndClick(output);
-        return output;
+        var output = removeHoverAndClickOrNull(input);
+        return output != null ? output : input;
     }
 
-    private static void removeHoverAndClick(MutableText input) {
-        if (input.getStyle() != null) {
-            input.setStyle(input.getStyle().withHoverEvent(null).withClickEvent(null));
-        }
+    /**
+     * Returns copy without hover and click events, sharing unchanged parts with input.
+     * Null is returned if there was nothing to remove.
+     */
+    @Nullable
+    private static MutableText removeHoverAndClickOrNull(Text input) {
+        var style = input.getStyle();
+        var changedStyle = style.getHoverEvent() != null || style.getClickEvent() != null;
 
+        Object[] args = null;
         if (input.getContent() instanceof TranslatableTextContent text) {
-            for (int i = 0; i < text.getArgs().length; i++) {
-                var arg = text.getArgs()[i];
-                if (arg instanceof MutableText argText) {
-                    removeHoverAndClick(argText);
+            var original = text.getArgs();
+            for (int i = 0; i < original.length; i++) {
+                if (original[i] instanceof Text argText) {
+                    var out = removeHoverAndClickOrNull(argText);
+                    if (out != null) {
+                        if (args == null) {
+                            args = original.clone();
+                        }
+                        args[i] = out;
+                    }
                 }
             }
         }
 
-        for (var sibling : input.getSiblings()) {
-            removeHoverAndClick((MutableText) sibling);
+        List<Text> siblings = null;
+        var originalSiblings = input.getSiblings();
+        for (int i = 0; i < originalSiblings.size(); i++) {
+            var out = removeHoverAndClickOrNull(originalSiblings.get(i));
+            if (out != null) {
+                if (siblings == null) {
+                    siblings = new ArrayList<>(originalSiblings);
+                }
+                siblings.set(i, out);
+            }
+        }
+
+        if (!changedStyle && args == null && siblings == null) {
+            return null;
+        }
+
+        var output = args != null
+                ? translatable((TranslatableTextContent) input.getContent(), args)
+                : input.copyContentOnly();
+
+        for (var sibling : siblings != null ? siblings : originalSiblings) {
+            output.append(sibling);
         }
 
+        return output.setStyle(changedStyle ? style.withHoverEvent(null).withClickEvent(null) : style);
+    }
+
+    public static MutableText translatable(TranslatableTextContent content, Object[] args) {
+        return IS_LEGACY_TRANSLATION
+                ? Text.translatable(content.getKey(), args)
+                : Text.translatableWithFallback(content.getKey(), content.getFallback(), args);
     }
 
     public static MutableText cloneText(Text input) {
@@ -0,0 +1,59 @@
+package eu.pb4.placeholders.impl;
+
+import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.PlaceholderContext;
+import eu.pb4.placeholders.api.node.TextNode;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Per thread pool of ParserContexts used for rendering nodes with just a PlaceholderContext.
+ * Contexts are handed out as a stack, so nested rendering (for example placeholders parsing their own nodes) is safe.
+ * They are only valid for duration of a single call and get cleared afterwards.
+ */
+@ApiStatus.Internal
+public final class ParserContextPool {
+    private static final ThreadLocal<ParserContextPool> POOL = ThreadLocal.withInitial(ParserContextPool::new);
+
+    private ParserContext[] contexts = new ParserContext[4];
+    private int depth;
+
+    private ParserContextPool() {}
+
+    public static Text toText(TextNode node, @Nullable PlaceholderContext context) {
+        return apply(context, parserContext -> node.toText(parserContext, true));
+    }
+
+    public static <T> T apply(@Nullable PlaceholderContext context, Function<ParserContext, T> function) {
+        var pool = POOL.get();
+        var parserContext = pool.acquire();
+
+        try {
+            if (context != null) {
+                parserContext.with(PlaceholderContext.KEY, context);
+            }
+            return function.apply(parserContext);
+        } finally {
+            parserContext.clear();
+            pool.depth--;
+        }
+    }
+
+    private ParserContext acquire() {
+        if (this.depth == this.contexts.length) {
+            this.contexts = Arrays.copyOf(this.contexts, this.depth * 2);
+        }
+
+        var context = this.contexts[this.depth];
+        if (context == null) {
+            context = ParserContext.of();
+            this.contexts[this.depth] = context;
+        }
+        this.depth++;
+        return context;
+    }
+}
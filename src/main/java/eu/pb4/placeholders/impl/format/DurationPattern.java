@@ -0,0 +1,169 @@
+package eu.pb4.placeholders.impl.format;
+
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled duration pattern, following format of {@link DurationFormatUtils#formatDuration(long, String, boolean)}
+ * with zero padding. Patterns are compiled once and cached, as they usually come from user provided arguments.
+ * Ones using features not supported here (years, months and optional blocks) are passed to commons-lang as is.
+ */
+@ApiStatus.Internal
+final class DurationPattern {
+    private static final Map<String, DurationPattern> CACHE = new ConcurrentHashMap<>();
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private static final long SECOND = 1000;
+    private static final long MINUTE = SECOND * 60;
+    private static final long HOUR = MINUTE * 60;
+    private static final long DAY = HOUR * 24;
+
+    private final String pattern;
+    @Nullable
+    private final Token[] tokens;
+    private final boolean hasDays;
+    private final boolean hasHours;
+    private final boolean hasMinutes;
+    private final boolean hasSeconds;
+
+    private DurationPattern(String pattern, @Nullable Token[] tokens) {
+        this.pattern = pattern;
+        this.tokens = tokens;
+        this.hasDays = has(tokens, 'd');
+        this.hasHours = has(tokens, 'H');
+        this.hasMinutes = has(tokens, 'm');
+        this.hasSeconds = has(tokens, 's');
+    }
+
+    static DurationPattern get(String pattern) {
+        var compiled = CACHE.get(pattern);
+        if (compiled == null) {
+            compiled = new DurationPattern(pattern, compile(pattern));
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(pattern, compiled);
+        }
+        return compiled;
+    }
+
+    String format(long millis) {
+        if (this.tokens == null) {
+            return DurationFormatUtils.formatDuration(millis, this.pattern, true);
+        }
+
+        long days = 0, hours = 0, minutes = 0, seconds = 0;
+        if (this.hasDays) {
+            days = millis / DAY;
+            millis -= days * DAY;
+        }
+        if (this.hasHours) {
+            hours = millis / HOUR;
+            millis -= hours * HOUR;
+        }
+        if (this.hasMinutes) {
+            minutes = millis / MINUTE;
+            millis -= minutes * MINUTE;
+        }
+        if (this.hasSeconds) {
+            seconds = millis / SECOND;
+            millis -= seconds * SECOND;
+        }
+
+        var builder = NumberFormatter.buffer();
+        var lastOutputSeconds = false;
+        for (var token : this.tokens) {
+            switch (token.unit) {
+                case 0 -> builder.append(token.literal);
+                case 'd' -> {
+                    NumberFormatter.appendPadded(builder, days, token.count);
+                    lastOutputSeconds = false;
+                }
+                case 'H' -> {
+                    NumberFormatter.appendPadded(builder, hours, token.count);
+                    lastOutputSeconds = false;
+                }
+                case 'm' -> {
+                    NumberFormatter.appendPadded(builder, minutes, token.count);
+                    lastOutputSeconds = false;
+                }
+                case 's' -> {
+                    NumberFormatter.appendPadded(builder, seconds, token.count);
+                    lastOutputSeconds = true;
+                }
+                case 'S' -> {
+                    // Same as commons-lang, milliseconds after seconds always have at least 3 digits
+                    NumberFormatter.appendPadded(builder, millis, lastOutputSeconds ? Math.max(3, token.count) : token.count);
+                    lastOutputSeconds = false;
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return tokens of pattern or null, if it uses features that aren't supported
+     */
+    @Nullable
+    private static Token[] compile(String pattern) {
+        var tokens = new ArrayList<Token>();
+        var literal = new StringBuilder();
+        var inQuote = false;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            var c = pattern.charAt(i);
+            if (inQuote && c != '\'') {
+                literal.append(c);
+                continue;
+            }
+
+            switch (c) {
+                case '\'' -> inQuote = !inQuote;
+                case 'y', 'M', '[', ']' -> {
+                    return null;
+                }
+                case 'd', 'H', 'm', 's', 'S' -> {
+                    if (!literal.isEmpty()) {
+                        tokens.add(new Token((char) 0, 0, literal.toString()));
+                        literal.setLength(0);
+                    }
+
+                    var last = tokens.isEmpty() ? null : tokens.get(tokens.size() - 1);
+                    if (last != null && last.unit == c && i > 0 && pattern.charAt(i - 1) == c) {
+                        tokens.set(tokens.size() - 1, new Token(c, last.count + 1, null));
+                    } else {
+                        tokens.add(new Token(c, 1, null));
+                    }
+                }
+                default -> literal.append(c);
+            }
+        }
+
+        if (inQuote) {
+            return null;
+        }
+
+        if (!literal.isEmpty()) {
+            tokens.add(new Token((char) 0, 0, literal.toString()));
+        }
+        return tokens.toArray(new Token[0]);
+    }
+
+    private static boolean has(@Nullable Token[] tokens, char unit) {
+        if (tokens != null) {
+            for (var token : tokens) {
+                if (token.unit == unit) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record Token(char unit, int count, @Nullable String literal) {}
+}
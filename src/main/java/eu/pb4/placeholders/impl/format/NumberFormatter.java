@@ -0,0 +1,148 @@
+package eu.pb4.placeholders.impl.format;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats numbers used by builtin placeholders without going through {@link java.util.Formatter},
+ * which parses the pattern and allocates itself on every call. Output matches {@code %.Nf} and {@code %0Nd}
+ * (including decimal separator of default locale), with values formatted into a reused per thread buffer.
+ */
+@ApiStatus.Internal
+public final class NumberFormatter {
+    private static final char DECIMAL_SEPARATOR = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator();
+    private static final long[] POWERS_OF_TEN = new long[16];
+    private static final double MAX_SCALED = 1L << 53;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private NumberFormatter() {}
+
+    /**
+     * Returns buffer of current thread, cleared.
+     */
+    public static StringBuilder buffer() {
+        var builder = BUFFER.get();
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * Same as {@code String.format("%.<decimals>f", value)}, including rounding half up of the shortest decimal
+     * representation of value (so {@code 1.005} is rounded to {@code 1.01}, even if it's stored as slightly less).
+     */
+    public static String fixed(double value, int decimals) {
+        var builder = buffer();
+        appendFixed(builder, value, decimals);
+        return builder.toString();
+    }
+
+    public static void appendFixed(StringBuilder builder, double value, int decimals) {
+        if (!Double.isFinite(value)) {
+            builder.append(value);
+            return;
+        }
+
+        var abs = Math.abs(value);
+        if (decimals >= POWERS_OF_TEN.length || abs * POWERS_OF_TEN[decimals] >= MAX_SCALED) {
+            builder.append(String.format("%." + decimals + "f", value));
+            return;
+        }
+
+        var power = POWERS_OF_TEN[decimals];
+        var exact = abs * power;
+        long scaled;
+        // Math.round matches Formatter unless value is close to a tie, where its binary error can round it differently
+        if (Math.abs(exact - Math.floor(exact) - 0.5) > 4 * (Math.ulp(exact) + Math.ulp(abs) * power)) {
+            scaled = Math.round(exact);
+        } else {
+            scaled = new BigDecimal(Double.toString(abs)).setScale(decimals, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+        if (Double.doubleToRawLongBits(value) < 0) {
+            builder.append('-');
+        }
+
+        builder.append(scaled / power);
+        if (decimals > 0) {
+            builder.append(DECIMAL_SEPARATOR);
+            appendPadded(builder, scaled % power, decimals);
+        }
+    }
+
+    /**
+     * Same as {@code String.format("%0<width>d", value)} for non-negative values.
+     */
+    public static void appendPadded(StringBuilder builder, long value, int width) {
+        var digits = 1;
+        for (var x = value; x >= 10 && digits < width; x /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            builder.append('0');
+        }
+        builder.append(value);
+    }
+
+    /**
+     * Parses decimal count used by placeholder arguments, returning default one if argument is missing or invalid.
+     */
+    public static int parseDecimals(@Nullable String argument, int defaultValue) {
+        if (argument == null || argument.isEmpty() || argument.length() > 2) {
+            return defaultValue;
+        }
+
+        int value = 0;
+        for (int i = 0; i < argument.length(); i++) {
+            var c = argument.charAt(i);
+            if (c < '0' || c > '9') {
+                return defaultValue;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Formats seconds as shortest of {@code 1d2h3m4s}, {@code 2h3m4s}, {@code 3m4s} or {@code 4s}.
+     */
+    public static String duration(long seconds) {
+        if (seconds <= 0) {
+            return "---";
+        }
+
+        var builder = buffer();
+        var days = seconds / (60 * 60 * 24);
+        var hours = (seconds / (60 * 60)) % 24;
+        var minutes = (seconds / 60) % 60;
+
+        if (days > 0) {
+            builder.append(days).append('d');
+        }
+        if (days > 0 || hours > 0) {
+            builder.append(hours).append('h');
+        }
+        if (days > 0 || hours > 0 || minutes > 0) {
+            builder.append(minutes).append('m');
+        }
+        builder.append(seconds % 60).append('s');
+        return builder.toString();
+    }
+
+    /**
+     * Formats duration with pattern compatible with {@code DurationFormatUtils.formatDuration(millis, pattern, true)}.
+     */
+    public static String duration(long millis, String pattern) {
+        return DurationPattern.get(pattern).format(millis);
+    }
+}
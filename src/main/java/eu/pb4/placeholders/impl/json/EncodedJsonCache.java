@@ -0,0 +1,41 @@
+package eu.pb4.placeholders.impl.json;
+
+import com.google.common.collect.MapMaker;
+import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.impl.ParserContextPool;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps encoded json of static nodes. Keys are weakly referenced and compared by identity,
+ * so entries disappear together with templates they were created for.
+ */
+@ApiStatus.Internal
+public final class EncodedJsonCache {
+    private static final ConcurrentMap<TextNode, byte[]> CACHE = new MapMaker().weakKeys().makeMap();
+
+    private EncodedJsonCache() {}
+
+    public static byte[] get(TextNode node, int maxLength) {
+        if (node.isDynamic()) {
+            return encode(node, maxLength);
+        }
+
+        var bytes = CACHE.get(node);
+        if (bytes == null) {
+            bytes = encode(node, maxLength);
+            CACHE.put(node, bytes);
+        }
+        return bytes;
+    }
+
+    public static byte[] encode(TextNode node, int maxLength) {
+        return ParserContextPool.apply(null, context -> JsonTextWriter.toJson(node, context, maxLength)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+}
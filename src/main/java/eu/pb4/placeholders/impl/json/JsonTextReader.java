@@ -0,0 +1,497 @@
+package eu.pb4.placeholders.impl.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import eu.pb4.placeholders.api.node.*;
+import eu.pb4.placeholders.api.node.parent.ParentNode;
+import eu.pb4.placeholders.api.node.parent.ParentTextNode;
+import eu.pb4.placeholders.api.node.parent.StyledNode;
+import eu.pb4.placeholders.api.parsers.NodeParser;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import eu.pb4.placeholders.impl.textparser.TextParserImpl;
+import net.minecraft.text.*;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Reads text component json directly into nodes, producing same structure as converting deserialized Text would.
+ * Literals can be passed through a parser as they are read (for example to parse placeholders).
+ * Only nbt contents and non-text hover events are handed over to vanilla.
+ */
+@ApiStatus.Internal
+public final class JsonTextReader {
+    private final String json;
+    private final NodeParser literalParser;
+    private int pos;
+
+    private JsonTextReader(String json, @Nullable NodeParser literalParser) {
+        this.json = json;
+        this.literalParser = literalParser;
+    }
+
+    public static TextNode read(String json, @Nullable NodeParser literalParser) {
+        var reader = new JsonTextReader(json, literalParser);
+        var node = reader.readComponent();
+        reader.skipWhitespace();
+        if (reader.pos != json.length()) {
+            throw reader.error("Unexpected data after component");
+        }
+        return node;
+    }
+
+    private TextNode readComponent() {
+        this.skipWhitespace();
+        var c = this.peek();
+
+        if (c == '{') {
+            return this.readObject();
+        } else if (c == '[') {
+            return this.readArray();
+        } else if (c == '"') {
+            return new ParentNode(this.literal(this.readString()));
+        } else {
+            return new ParentNode(this.literal(this.readPrimitive()));
+        }
+    }
+
+    private TextNode readArray() {
+        this.expect('[');
+        var children = new ArrayList<TextNode>();
+        TextNode first = null;
+
+        if (!this.consume(']')) {
+            do {
+                var node = this.readComponent();
+                if (first == null) {
+                    first = node;
+                } else {
+                    children.add(node);
+                }
+            } while (this.consume(','));
+            this.expect(']');
+        }
+
+        if (first == null) {
+            throw this.error("Empty component array");
+        } else if (children.isEmpty()) {
+            return first;
+        } else if (first instanceof ParentTextNode parent) {
+            var list = new ArrayList<TextNode>(parent.getChildren().length + children.size());
+            list.addAll(Arrays.asList(parent.getChildren()));
+            list.addAll(children);
+            return parent.copyWith(list);
+        } else {
+            children.add(0, first);
+            return new ParentNode(children.toArray(TextParserImpl.CASTER));
+        }
+    }
+
+    private TextNode readObject() {
+        var start = this.pos;
+        this.expect('{');
+
+        TextNode text = null;
+        String translate = null;
+        String fallback = null;
+        Object[] with = null;
+        boolean hasScore = false;
+        String scoreName = null;
+        String scoreObjective = null;
+        String selector = null;
+        TextNode separator = null;
+        String keybind = null;
+        boolean hasNbt = false;
+        ArrayList<TextNode> extra = null;
+
+        TextColor color = null;
+        Boolean bold = null;
+        Boolean italic = null;
+        Boolean underlined = null;
+        Boolean strikethrough = null;
+        Boolean obfuscated = null;
+        Identifier font = null;
+        String insertion = null;
+        ClickEvent clickEvent = null;
+        HoverEvent hoverEvent = null;
+        ParentNode hoverValue = null;
+
+        if (!this.consume('}')) {
+            do {
+                this.skipWhitespace();
+                var key = this.readString();
+                this.expect(':');
+                this.skipWhitespace();
+
+                switch (key) {
+                    case "text" -> text = TextNode.asSingle(this.literal(this.peek() == '"' ? this.readString() : this.readPrimitive()));
+                    case "translate" -> translate = this.readString();
+                    case "fallback" -> fallback = this.readString();
+                    case "with" -> {
+                        var args = new ArrayList<>();
+                        this.expect('[');
+                        if (!this.consume(']')) {
+                            do {
+                                args.add(this.readComponent());
+                            } while (this.consume(','));
+                            this.expect(']');
+                        }
+                        with = args.toArray();
+                    }
+                    case "keybind" -> keybind = this.readString();
+                    case "score" -> {
+                        hasScore = true;
+                        this.expect('{');
+                        if (!this.consume('}')) {
+                            do {
+                                this.skipWhitespace();
+                                var scoreKey = this.readString();
+                                this.expect(':');
+                                this.skipWhitespace();
+                                switch (scoreKey) {
+                                    case "name" -> scoreName = this.readString();
+                                    case "objective" -> scoreObjective = this.readString();
+                                    default -> this.skipValue();
+                                }
+                            } while (this.consume(','));
+                            this.expect('}');
+                        }
+                    }
+                    case "selector" -> selector = this.readString();
+                    case "separator" -> separator = this.readComponent();
+                    case "nbt" -> {
+                        hasNbt = true;
+                        this.skipValue();
+                    }
+                    case "extra" -> {
+                        extra = new ArrayList<>();
+                        this.expect('[');
+                        if (!this.consume(']')) {
+                            do {
+                                extra.add(this.readComponent());
+                            } while (this.consume(','));
+                            this.expect(']');
+                        }
+                    }
+                    case "color" -> color = TextColor.parse(this.readString());
+                    case "bold" -> bold = this.readBoolean();
+                    case "italic" -> italic = this.readBoolean();
+                    case "underlined" -> underlined = this.readBoolean();
+                    case "strikethrough" -> strikethrough = this.readBoolean();
+                    case "obfuscated" -> obfuscated = this.readBoolean();
+                    case "font" -> {
+                        var fontId = this.readString();
+                        font = Identifier.tryParse(fontId);
+                        if (font == null) {
+                            throw this.error("Invalid font name: " + fontId);
+                        }
+                    }
+                    case "insertion" -> insertion = this.readString();
+                    case "clickEvent" -> clickEvent = this.readClickEvent();
+                    case "hoverEvent" -> {
+                        var hoverStart = this.pos;
+                        hoverValue = this.readTextHover();
+                        if (hoverValue != null) {
+                            hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT, Text.empty());
+                        } else {
+                            hoverEvent = HoverEvent.fromJson(JsonParser.parseString(this.json.substring(hoverStart, this.pos)).getAsJsonObject());
+                        }
+                    }
+                    default -> this.skipValue();
+                }
+            } while (this.consume(','));
+            this.expect('}');
+        }
+
+        // Content is chosen in the same order as vanilla uses, no matter in which order keys were written
+        TextNode content;
+        if (text != null) {
+            content = text;
+        } else if (translate != null) {
+            content = GeneralUtils.IS_LEGACY_TRANSLATION
+                    ? TranslatedNode.of(translate, with != null ? with : new Object[0])
+                    : TranslatedNode.ofFallback(translate, fallback, with != null ? with : new Object[0]);
+        } else if (hasScore) {
+            if (scoreName == null || scoreObjective == null) {
+                throw this.error("A score component needs a least a name and an objective");
+            }
+            content = new ScoreNode(scoreName, scoreObjective);
+        } else if (selector != null) {
+            content = new SelectorNode(selector, Optional.ofNullable(separator));
+        } else if (keybind != null) {
+            content = new KeybindNode(keybind);
+        } else if (hasNbt) {
+            return GeneralUtils.convertToNodes(Text.Serializer.fromJson(this.json.substring(start, this.pos)));
+        } else {
+            throw this.error("Don't know how to turn object into a component");
+        }
+
+        var children = new TextNode[extra != null ? extra.size() + 1 : 1];
+        children[0] = content;
+        if (extra != null) {
+            for (int i = 0; i < extra.size(); i++) {
+                children[i + 1] = extra.get(i);
+            }
+        }
+
+        if (color == null && bold == null && italic == null && underlined == null && strikethrough == null && obfuscated == null
+                && font == null && insertion == null && clickEvent == null && hoverEvent == null) {
+            return new ParentNode(children);
+        }
+
+        var style = Style.EMPTY;
+        if (color != null) {
+            style = style.withColor(color);
+        }
+        if (bold != null) {
+            style = style.withBold(bold);
+        }
+        if (italic != null) {
+            style = style.withItalic(italic);
+        }
+        if (underlined != null) {
+            style = style.withUnderline(underlined);
+        }
+        if (strikethrough != null) {
+            style = style.withStrikethrough(strikethrough);
+        }
+        if (obfuscated != null) {
+            style = style.withObfuscated(obfuscated);
+        }
+        if (font != null) {
+            style = style.withFont(font);
+        }
+        if (insertion != null) {
+            style = style.withInsertion(insertion);
+        }
+        if (clickEvent != null) {
+            style = style.withClickEvent(clickEvent);
+        }
+        if (hoverEvent != null) {
+            style = style.withHoverEvent(hoverEvent);
+        }
+
+        return new StyledNode(children, style, hoverValue,
+                clickEvent != null ? TextNode.asSingle(this.literal(clickEvent.getValue())) : null,
+                insertion != null ? TextNode.asSingle(this.literal(insertion)) : null);
+    }
+
+    @Nullable
+    private ClickEvent readClickEvent() {
+        ClickEvent.Action action = null;
+        String value = null;
+
+        this.expect('{');
+        if (!this.consume('}')) {
+            do {
+                this.skipWhitespace();
+                var key = this.readString();
+                this.expect(':');
+                this.skipWhitespace();
+                switch (key) {
+                    case "action" -> action = ClickEvent.Action.byName(this.readString());
+                    case "value" -> value = this.readString();
+                    default -> this.skipValue();
+                }
+            } while (this.consume(','));
+            this.expect('}');
+        }
+
+        return action != null && value != null && action.isUserDefinable() ? new ClickEvent(action, value) : null;
+    }
+
+    /**
+     * Reads hover event object, returning its value if it shows text. Other actions are only skipped.
+     */
+    @Nullable
+    private ParentNode readTextHover() {
+        String action = null;
+        TextNode value = null;
+        String rawValue = null;
+
+        this.expect('{');
+        if (!this.consume('}')) {
+            do {
+                this.skipWhitespace();
+                var key = this.readString();
+                this.expect(':');
+                this.skipWhitespace();
+                switch (key) {
+                    case "action" -> action = this.readString();
+                    case "contents", "value" -> {
+                        if ("show_text".equals(action)) {
+                            value = this.readComponent();
+                        } else {
+                            var valueStart = this.pos;
+                            this.skipValue();
+                            rawValue = this.json.substring(valueStart, this.pos);
+                        }
+                    }
+                    default -> this.skipValue();
+                }
+            } while (this.consume(','));
+            this.expect('}');
+        }
+
+        if ("show_text".equals(action) && value == null && rawValue != null) {
+            value = new JsonTextReader(rawValue, this.literalParser).readComponent();
+        }
+
+        if ("show_text".equals(action) && value != null) {
+            return value instanceof ParentNode parentNode ? parentNode : new ParentNode(value);
+        }
+        return null;
+    }
+
+    private TextNode[] literal(String value) {
+        var node = new LiteralNode(value);
+        return this.literalParser != null ? this.literalParser.parseNodes(node) : new TextNode[] { node };
+    }
+
+    private String readString() {
+        this.expect('"');
+        var json = this.json;
+        var start = this.pos;
+
+        // Fast path for strings without escapes
+        while (this.pos < json.length()) {
+            var c = json.charAt(this.pos);
+            if (c == '"') {
+                return json.substring(start, this.pos++);
+            } else if (c == '\\') {
+                break;
+            }
+            this.pos++;
+        }
+
+        var builder = new StringBuilder(this.pos - start + 16);
+        builder.append(json, start, this.pos);
+
+        while (this.pos < json.length()) {
+            var c = json.charAt(this.pos++);
+            if (c == '"') {
+                return builder.toString();
+            } else if (c == '\\') {
+                if (this.pos >= json.length()) {
+                    break;
+                }
+                var e = json.charAt(this.pos++);
+                switch (e) {
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'u' -> {
+                        if (this.pos + 4 > json.length()) {
+                            throw this.error("Invalid unicode escape");
+                        }
+                        try {
+                            builder.append((char) Integer.parseInt(json, this.pos, this.pos + 4, 16));
+                        } catch (NumberFormatException ex) {
+                            throw this.error("Invalid unicode escape");
+                        }
+                        this.pos += 4;
+                    }
+                    default -> builder.append(e);
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+
+        throw this.error("Unterminated string");
+    }
+
+    /**
+     * Reads number, boolean or null as raw string, like vanilla does for primitive components.
+     */
+    private String readPrimitive() {
+        var start = this.pos;
+        while (this.pos < this.json.length()) {
+            var c = this.json.charAt(this.pos);
+            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            this.pos++;
+        }
+
+        if (start == this.pos) {
+            throw this.error("Expected value");
+        }
+        return this.json.substring(start, this.pos);
+    }
+
+    private boolean readBoolean() {
+        if (this.peek() == '"') {
+            return Boolean.parseBoolean(this.readString());
+        }
+        var value = this.readPrimitive();
+        if (value.equals("true")) {
+            return true;
+        } else if (value.equals("false")) {
+            return false;
+        }
+        throw this.error("Expected boolean");
+    }
+
+    private void skipValue() {
+        this.skipWhitespace();
+        var c = this.peek();
+        if (c == '"') {
+            this.readString();
+        } else if (c == '{' || c == '[') {
+            var close = c == '{' ? '}' : ']';
+            this.pos++;
+            if (!this.consume(close)) {
+                do {
+                    this.skipWhitespace();
+                    if (c == '{') {
+                        this.readString();
+                        this.expect(':');
+                    }
+                    this.skipValue();
+                } while (this.consume(','));
+                this.expect(close);
+            }
+        } else {
+            this.readPrimitive();
+        }
+    }
+
+    private void skipWhitespace() {
+        while (this.pos < this.json.length() && Character.isWhitespace(this.json.charAt(this.pos))) {
+            this.pos++;
+        }
+    }
+
+    private char peek() {
+        if (this.pos >= this.json.length()) {
+            throw this.error("Unexpected end of input");
+        }
+        return this.json.charAt(this.pos);
+    }
+
+    private boolean consume(char c) {
+        this.skipWhitespace();
+        if (this.pos < this.json.length() && this.json.charAt(this.pos) == c) {
+            this.pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!this.consume(c)) {
+            throw this.error("Expected '" + c + "'");
+        }
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(message + " at position " + this.pos);
+    }
+}
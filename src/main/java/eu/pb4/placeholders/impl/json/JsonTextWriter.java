@@ -0,0 +1,307 @@
+package eu.pb4.placeholders.impl.json;
+
+import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.node.StringOutput;
+import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import net.minecraft.text.*;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Objects;
+
+/**
+ * Writes text component json directly from nodes. Output is an array, with first element being an empty string
+ * and every literal written as separate element with its full style, so parents don't need to be tracked.
+ * Existing Text (from placeholders, translations and such) is written as a single nested element.
+ * Elements that would go over the max length are dropped, with literals being cut to fit.
+ */
+@ApiStatus.Internal
+public final class JsonTextWriter extends StringOutput {
+    private static final ThreadLocal<JsonTextWriter> WRITERS = ThreadLocal.withInitial(() -> new JsonTextWriter(new StringBuilder(256)));
+    private static final int MAX_KEPT_CAPACITY = 1 << 16;
+
+    /**
+     * Max length of builder, being max length of output offset by content builder had before writing
+     */
+    private int limit;
+    private boolean truncated;
+    private boolean inUse;
+
+    private JsonTextWriter(StringBuilder builder) {
+        super(builder, false);
+    }
+
+    /**
+     * Writes node into given builder, with max length applying only to appended part.
+     *
+     * @return false if output was truncated
+     */
+    public static boolean write(TextNode node, ParserContext context, StringBuilder out, int maxLength) {
+        var writer = new JsonTextWriter(out);
+        writer.writeNode(node, context, maxLength);
+        return !writer.truncated;
+    }
+
+    public static String toJson(TextNode node, ParserContext context, int maxLength) {
+        var writer = WRITERS.get();
+        if (writer.inUse) {
+            var out = new StringBuilder();
+            write(node, context, out, maxLength);
+            return out.toString();
+        }
+
+        writer.inUse = true;
+        try {
+            writer.writeNode(node, context, maxLength);
+            return writer.builder.toString();
+        } finally {
+            writer.reset();
+        }
+    }
+
+    private void writeNode(TextNode node, ParserContext context, int maxLength) {
+        this.limit = (int) Math.min((long) this.builder.length() + Math.max(maxLength, 4), Integer.MAX_VALUE);
+        this.truncated = false;
+        this.setStyle(Style.EMPTY);
+        this.builder.append("[\"\"");
+        node.appendString(context, this);
+        this.builder.append(']');
+    }
+
+    private void reset() {
+        this.inUse = false;
+        this.builder.setLength(0);
+        if (this.builder.capacity() > MAX_KEPT_CAPACITY) {
+            this.builder.trimToSize();
+        }
+    }
+
+    @Override
+    public boolean usesStyle() {
+        return true;
+    }
+
+    @Override
+    protected void write(String string, Style style) {
+        if (this.truncated) {
+            return;
+        }
+
+        var start = this.builder.length();
+        this.builder.append(",{");
+        this.writeStyle(style, Style.EMPTY);
+        this.builder.append("\"text\":");
+        // Space for closing quote, object and array
+        if (!this.writeString(string, this.limit - 3)) {
+            this.truncated = true;
+        }
+        this.builder.append('}');
+
+        if (this.builder.length() + 1 > this.limit) {
+            this.builder.setLength(start);
+            this.truncated = true;
+        }
+    }
+
+    @Override
+    protected void write(Text text, Style style) {
+        if (this.truncated || GeneralUtils.isEmpty(text)) {
+            return;
+        }
+
+        var start = this.builder.length();
+        this.builder.append(',');
+        this.writeText(text, style, Style.EMPTY);
+
+        if (this.builder.length() + 1 > this.limit) {
+            this.builder.setLength(start);
+            this.truncated = true;
+        }
+    }
+
+    /**
+     * Writes text as single component.
+     *
+     * @param parentStyle style this text inherits from
+     * @param writtenStyle style already provided by parent components in json
+     */
+    private void writeText(Text text, Style parentStyle, Style writtenStyle) {
+        var style = text.getStyle().withParent(parentStyle);
+        var content = text.getContent();
+
+        if (!(content == TextContent.EMPTY || content instanceof LiteralTextContent || content instanceof TranslatableTextContent
+                || content instanceof KeybindTextContent || content instanceof ScoreTextContent || content instanceof SelectorTextContent)) {
+            this.builder.append(Text.Serializer.toJson(text.copy().setStyle(style)));
+            return;
+        }
+
+        this.builder.append('{');
+        this.writeStyle(style, writtenStyle);
+
+        if (content instanceof TranslatableTextContent translatable) {
+            this.builder.append("\"translate\":");
+            this.writeString(translatable.getKey(), Integer.MAX_VALUE);
+            if (!GeneralUtils.IS_LEGACY_TRANSLATION && translatable.getFallback() != null) {
+                this.builder.append(",\"fallback\":");
+                this.writeString(translatable.getFallback(), Integer.MAX_VALUE);
+            }
+
+            var args = translatable.getArgs();
+            if (args.length > 0) {
+                this.builder.append(",\"with\":[");
+                for (int i = 0; i < args.length; i++) {
+                    if (i != 0) {
+                        this.builder.append(',');
+                    }
+
+                    if (args[i] instanceof Text argText) {
+                        this.writeText(argText, style, style);
+                    } else {
+                        this.writeString(String.valueOf(args[i]), Integer.MAX_VALUE);
+                    }
+                }
+                this.builder.append(']');
+            }
+        } else if (content instanceof KeybindTextContent keybind) {
+            this.builder.append("\"keybind\":");
+            this.writeString(keybind.getKey(), Integer.MAX_VALUE);
+        } else if (content instanceof ScoreTextContent score) {
+            this.builder.append("\"score\":{\"name\":");
+            this.writeString(score.getName(), Integer.MAX_VALUE);
+            this.builder.append(",\"objective\":");
+            this.writeString(score.getObjective(), Integer.MAX_VALUE);
+            this.builder.append('}');
+        } else if (content instanceof SelectorTextContent selector) {
+            this.builder.append("\"selector\":");
+            this.writeString(selector.getPattern(), Integer.MAX_VALUE);
+            if (selector.getSeparator().isPresent()) {
+                this.builder.append(",\"separator\":");
+                this.writeText(selector.getSeparator().get(), Style.EMPTY, Style.EMPTY);
+            }
+        } else {
+            this.builder.append("\"text\":");
+            this.writeString(content instanceof LiteralTextContent literal ? literal.string() : "", Integer.MAX_VALUE);
+        }
+
+        var siblings = text.getSiblings();
+        if (!siblings.isEmpty()) {
+            this.builder.append(",\"extra\":[");
+            for (int i = 0; i < siblings.size(); i++) {
+                if (i != 0) {
+                    this.builder.append(',');
+                }
+                this.writeText(siblings.get(i), style, style);
+            }
+            this.builder.append(']');
+        }
+
+        this.builder.append('}');
+    }
+
+    /**
+     * Writes all style fields that differ from already written ones, each followed by a comma.
+     */
+    private void writeStyle(Style style, Style written) {
+        if (style.getColor() != null && !style.getColor().equals(written.getColor())) {
+            this.builder.append("\"color\":");
+            this.writeString(style.getColor().getName(), Integer.MAX_VALUE);
+            this.builder.append(',');
+        }
+
+        this.writeFlag("bold", style.isBold(), written.isBold());
+        this.writeFlag("italic", style.isItalic(), written.isItalic());
+        this.writeFlag("underlined", style.isUnderlined(), written.isUnderlined());
+        this.writeFlag("strikethrough", style.isStrikethrough(), written.isStrikethrough());
+        this.writeFlag("obfuscated", style.isObfuscated(), written.isObfuscated());
+
+        if (!style.getFont().equals(written.getFont())) {
+            this.builder.append("\"font\":");
+            this.writeString(style.getFont().toString(), Integer.MAX_VALUE);
+            this.builder.append(',');
+        }
+
+        if (style.getInsertion() != null && !style.getInsertion().equals(written.getInsertion())) {
+            this.builder.append("\"insertion\":");
+            this.writeString(style.getInsertion(), Integer.MAX_VALUE);
+            this.builder.append(',');
+        }
+
+        var clickEvent = style.getClickEvent();
+        if (clickEvent != null && !clickEvent.equals(written.getClickEvent())) {
+            this.builder.append("\"clickEvent\":{\"action\":");
+            this.writeString(clickEvent.getAction().getName(), Integer.MAX_VALUE);
+            this.builder.append(",\"value\":");
+            this.writeString(clickEvent.getValue(), Integer.MAX_VALUE);
+            this.builder.append("},");
+        }
+
+        var hoverEvent = style.getHoverEvent();
+        if (hoverEvent != null && !Objects.equals(hoverEvent, written.getHoverEvent())) {
+            this.builder.append("\"hoverEvent\":");
+            var text = hoverEvent.getValue(HoverEvent.Action.SHOW_TEXT);
+            if (text != null) {
+                this.builder.append("{\"action\":\"show_text\",\"contents\":");
+                this.writeText(text, Style.EMPTY, Style.EMPTY);
+                this.builder.append('}');
+            } else {
+                this.builder.append(hoverEvent.toJson());
+            }
+            this.builder.append(',');
+        }
+    }
+
+    private void writeFlag(String name, boolean value, boolean written) {
+        if (value != written) {
+            this.builder.append('"').append(name).append("\":").append(value).append(',');
+        }
+    }
+
+    /**
+     * Writes escaped json string, stopping before output would exceed the limit (excluding closing quote).
+     *
+     * @return false if string was cut
+     */
+    private boolean writeString(String string, int limit) {
+        var builder = this.builder;
+        builder.append('"');
+
+        var length = string.length();
+        for (int i = 0; i < length; i++) {
+            var c = string.charAt(i);
+            var escapeLength = switch (c) {
+                case '"', '\\', '\n', '\r', '\t', '\b', '\f' -> 2;
+                default -> c < 0x20 || c == '\u2028' || c == '\u2029' ? 6 : 1;
+            };
+
+            if (builder.length() + escapeLength > limit) {
+                if (i > 0 && Character.isHighSurrogate(string.charAt(i - 1))) {
+                    builder.setLength(builder.length() - 1);
+                }
+                builder.append('"');
+                return false;
+            }
+
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                case '\b' -> builder.append("\\b");
+                case '\f' -> builder.append("\\f");
+                default -> {
+                    if (escapeLength == 6) {
+                        builder.append("\\u");
+                        var hex = Integer.toHexString(c);
+                        builder.append("0000", hex.length(), 4).append(hex);
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+
+        builder.append('"');
+        return true;
+    }
+}
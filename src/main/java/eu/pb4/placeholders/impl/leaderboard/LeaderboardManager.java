@@ -0,0 +1,282 @@
+package eu.pb4.placeholders.impl.leaderboard;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.authlib.GameProfile;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.stat.Stat;
+import net.minecraft.stat.StatType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import net.minecraft.util.WorldSavePath;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps leaderboards of statistics used by leaderboard placeholders.
+ * Statistic is tracked from the first time it's requested. At that point saved stats of every player are scanned
+ * once in background, after which leaderboard is updated as stats of online players change.
+ * Tracked leaderboards and known player names are stored in a compact binary file saved with the world,
+ * so restarting the server doesn't require scanning again.
+ */
+@ApiStatus.Internal
+public final class LeaderboardManager {
+    private static final int VERSION = 1;
+
+    private final MinecraftServer server;
+    private final Map<Stat<?>, StatLeaderboard> leaderboards = new ConcurrentHashMap<>();
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile boolean dirty;
+
+    public LeaderboardManager(MinecraftServer server) {
+        this.server = server;
+    }
+
+    public static LeaderboardManager get(MinecraftServer server) {
+        return ((Holder) server).placeholderApi$getLeaderboardManager();
+    }
+
+    /**
+     * Returns leaderboard of provided statistic, starting to track it if it wasn't yet.
+     * Newly tracked leaderboards stay empty until scanning of saved stats finishes.
+     */
+    public StatLeaderboard getLeaderboard(Stat<?> stat) {
+        this.load();
+        var leaderboard = this.leaderboards.get(stat);
+        if (leaderboard == null) {
+            synchronized (this.leaderboards) {
+                leaderboard = this.leaderboards.get(stat);
+                if (leaderboard == null) {
+                    leaderboard = new StatLeaderboard();
+                    leaderboard.loading = true;
+                    this.leaderboards.put(stat, leaderboard);
+                    this.scan(stat, leaderboard);
+                }
+            }
+        }
+        return leaderboard;
+    }
+
+    public String getName(UUID uuid) {
+        var name = this.names.get(uuid);
+        if (name == null) {
+            var userCache = this.server.getUserCache();
+            name = userCache != null ? userCache.getByUuid(uuid).map(GameProfile::getName).orElse(null) : null;
+            if (name == null) {
+                return uuid.toString();
+            }
+            this.names.put(uuid, name);
+            this.dirty = true;
+        }
+        return name;
+    }
+
+    public void update(PlayerEntity player, Stat<?> stat, int value) {
+        this.load();
+        var leaderboard = this.leaderboards.get(stat);
+        if (leaderboard != null && !leaderboard.isLoading()) {
+            leaderboard.set(player.getUuid(), value);
+            this.names.put(player.getUuid(), player.getGameProfile().getName());
+            this.dirty = true;
+        }
+    }
+
+    private void scan(Stat<?> stat, StatLeaderboard leaderboard) {
+        var type = Registries.STAT_TYPE.getId(stat.getType());
+        var key = getKey(stat);
+        var directory = this.server.getSavePath(WorldSavePath.STATS);
+
+        CompletableFuture.supplyAsync(() -> scanFiles(directory, type.toString(), key.toString()), Util.getIoWorkerExecutor())
+                .thenAcceptAsync(values -> {
+                    // Saved stats of online players can be outdated
+                    for (var player : this.server.getPlayerManager().getPlayerList()) {
+                        var value = player.getStatHandler().getStat(stat);
+                        if (value != 0) {
+                            values.put(player.getUuid(), value);
+                        }
+                        this.names.put(player.getUuid(), player.getGameProfile().getName());
+                    }
+                    leaderboard.fill(values);
+                    this.dirty = true;
+                }, this::executeOnServer)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        GeneralUtils.LOGGER.error("Failed to scan statistics for leaderboard!", e);
+                    }
+                    // Leaderboard shouldn't stay loading forever, no matter how scanning ended
+                    if (leaderboard.isLoading()) {
+                        leaderboard.fill(new Object2IntOpenHashMap<>());
+                    }
+                });
+    }
+
+    private void executeOnServer(Runnable task) {
+        // Tasks sent after server stopped are never run, so they are rejected instead
+        if (!this.server.isRunning()) {
+            throw new RejectedExecutionException("Server is stopped");
+        }
+        this.server.execute(task);
+    }
+
+    private static Object2IntMap<UUID> scanFiles(Path directory, String type, String key) {
+        var values = new Object2IntOpenHashMap<UUID>();
+        if (!Files.isDirectory(directory)) {
+            return values;
+        }
+
+        try (var stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (var path : stream) {
+                var fileName = path.getFileName().toString();
+                try {
+                    var uuid = UUID.fromString(fileName.substring(0, fileName.length() - 5));
+                    try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                        var stats = JsonParser.parseReader(reader).getAsJsonObject().get("stats");
+                        if (stats instanceof JsonObject statsObject
+                                && statsObject.get(type) instanceof JsonObject typeObject
+                                && typeObject.has(key)) {
+                            var value = typeObject.get(key).getAsInt();
+                            if (value != 0) {
+                                values.put(uuid, value);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    // Not a valid stats file, it will be handled (or complained about) by vanilla
+                }
+            }
+        } catch (IOException e) {
+            GeneralUtils.LOGGER.error("Failed to read statistics directory!", e);
+        }
+        return values;
+    }
+
+    private void load() {
+        if (this.loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (this.loaded) {
+                return;
+            }
+
+            var path = this.getPath();
+            if (Files.exists(path)) {
+                try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                    if (input.readInt() == VERSION) {
+                        var nameCount = input.readInt();
+                        for (int i = 0; i < nameCount; i++) {
+                            this.names.put(new UUID(input.readLong(), input.readLong()), input.readUTF());
+                        }
+
+                        var leaderboardCount = input.readInt();
+                        for (int i = 0; i < leaderboardCount; i++) {
+                            var stat = createStat(Identifier.tryParse(input.readUTF()), Identifier.tryParse(input.readUTF()));
+                            var values = StatLeaderboard.read(input);
+                            if (stat != null) {
+                                var leaderboard = new StatLeaderboard();
+                                leaderboard.fill(values);
+                                this.leaderboards.put(stat, leaderboard);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    GeneralUtils.LOGGER.error("Failed to load leaderboards, they will be recreated!", e);
+                    this.leaderboards.clear();
+                }
+            }
+
+            this.loaded = true;
+        }
+    }
+
+    public void save() {
+        if (!this.loaded || !this.dirty) {
+            return;
+        }
+        // Cleared before writing, so changes made while saving aren't lost
+        this.dirty = false;
+
+        var path = this.getPath();
+        try {
+            Files.createDirectories(path.getParent());
+            var temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(VERSION);
+
+                var names = Map.copyOf(this.names);
+                output.writeInt(names.size());
+                for (var entry : names.entrySet()) {
+                    output.writeLong(entry.getKey().getMostSignificantBits());
+                    output.writeLong(entry.getKey().getLeastSignificantBits());
+                    output.writeUTF(entry.getValue());
+                }
+
+                var leaderboards = Map.copyOf(this.leaderboards);
+                var count = 0;
+                for (var leaderboard : leaderboards.values()) {
+                    if (!leaderboard.isLoading()) {
+                        count++;
+                    }
+                }
+
+                output.writeInt(count);
+                for (var entry : leaderboards.entrySet()) {
+                    if (!entry.getValue().isLoading()) {
+                        output.writeUTF(Registries.STAT_TYPE.getId(entry.getKey().getType()).toString());
+                        output.writeUTF(getKey(entry.getKey()).toString());
+                        entry.getValue().write(output);
+                    }
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            GeneralUtils.LOGGER.error("Failed to save leaderboards!", e);
+            this.dirty = true;
+        }
+    }
+
+    private Path getPath() {
+        return this.server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve("placeholder_api_leaderboards.dat");
+    }
+
+    @Nullable
+    public static Stat<?> createStat(@Nullable Identifier type, @Nullable Identifier key) {
+        if (type == null || key == null) {
+            return null;
+        }
+
+        var statType = Registries.STAT_TYPE.get(type);
+        return statType != null ? createStat(statType, key) : null;
+    }
+
+    @Nullable
+    private static <T> Stat<T> createStat(StatType<T> type, Identifier key) {
+        return type.getRegistry().containsId(key) ? type.getOrCreateStat(type.getRegistry().get(key)) : null;
+    }
+
+    private static <T> Identifier getKey(Stat<T> stat) {
+        return stat.getType().getRegistry().getId(stat.getValue());
+    }
+
+    public interface Holder {
+        LeaderboardManager placeholderApi$getLeaderboardManager();
+    }
+}
@@ -0,0 +1,155 @@
+package eu.pb4.placeholders.impl.leaderboard;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Players sorted by value of a single statistic (highest first, ties ordered by uuid).
+ * Entries are kept in sorted arrays, so reading a position is constant time and rank lookup is a binary search.
+ * Changing a value only moves entries between its old and new position, which for usual small increments is a few elements.
+ */
+@ApiStatus.Internal
+public final class StatLeaderboard {
+    private final Object2IntOpenHashMap<UUID> valueById = new Object2IntOpenHashMap<>();
+    private UUID[] ids = new UUID[16];
+    private int[] values = new int[16];
+    private int size;
+    volatile boolean loading;
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    public boolean isLoading() {
+        return this.loading;
+    }
+
+    /**
+     * @param position 0-based position
+     */
+    @Nullable
+    public synchronized UUID idAt(int position) {
+        return position >= 0 && position < this.size ? this.ids[position] : null;
+    }
+
+    /**
+     * @param position 0-based position
+     */
+    public synchronized int valueAt(int position) {
+        return position >= 0 && position < this.size ? this.values[position] : 0;
+    }
+
+    /**
+     * @return 1-based rank of the player, or -1 if they aren't on leaderboard
+     */
+    public synchronized int rank(UUID id) {
+        if (!this.valueById.containsKey(id)) {
+            return -1;
+        }
+        return this.search(this.valueById.getInt(id), id) + 1;
+    }
+
+    public synchronized void set(UUID id, int value) {
+        if (this.valueById.containsKey(id)) {
+            var old = this.valueById.getInt(id);
+            if (old == value) {
+                return;
+            }
+
+            var from = this.search(old, id);
+            var to = -this.search(value, id) - 1;
+            if (to > from) {
+                to--;
+                System.arraycopy(this.ids, from + 1, this.ids, from, to - from);
+                System.arraycopy(this.values, from + 1, this.values, from, to - from);
+            } else {
+                System.arraycopy(this.ids, to, this.ids, to + 1, from - to);
+                System.arraycopy(this.values, to, this.values, to + 1, from - to);
+            }
+            this.ids[to] = id;
+            this.values[to] = value;
+        } else {
+            var to = -this.search(value, id) - 1;
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            System.arraycopy(this.ids, to, this.ids, to + 1, this.size - to);
+            System.arraycopy(this.values, to, this.values, to + 1, this.size - to);
+            this.ids[to] = id;
+            this.values[to] = value;
+            this.size++;
+        }
+        this.valueById.put(id, value);
+    }
+
+    /**
+     * Replaces all entries at once, sorting them in a single pass.
+     */
+    synchronized void fill(Object2IntMap<UUID> values) {
+        var ids = values.keySet().toArray(new UUID[0]);
+        Arrays.sort(ids, (a, b) -> compare(values.getInt(a), a, values.getInt(b), b));
+
+        this.size = ids.length;
+        this.ids = Arrays.copyOf(ids, Math.max(16, this.size));
+        this.values = new int[this.ids.length];
+        this.valueById.clear();
+        for (int i = 0; i < this.size; i++) {
+            this.values[i] = values.getInt(ids[i]);
+            this.valueById.put(ids[i], this.values[i]);
+        }
+        this.loading = false;
+    }
+
+    synchronized void write(DataOutput output) throws IOException {
+        output.writeInt(this.size);
+        for (int i = 0; i < this.size; i++) {
+            output.writeLong(this.ids[i].getMostSignificantBits());
+            output.writeLong(this.ids[i].getLeastSignificantBits());
+            output.writeInt(this.values[i]);
+        }
+    }
+
+    static Object2IntMap<UUID> read(DataInput input) throws IOException {
+        var size = input.readInt();
+        var values = new Object2IntOpenHashMap<UUID>(size);
+        for (int i = 0; i < size; i++) {
+            values.put(new UUID(input.readLong(), input.readLong()), input.readInt());
+        }
+        return values;
+    }
+
+    /**
+     * Binary search with same semantics as {@link Arrays#binarySearch}.
+     */
+    private int search(int value, UUID id) {
+        int low = 0;
+        int high = this.size - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(this.values[mid], this.ids[mid], value, id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int compare(int valueA, UUID idA, int valueB, UUID idB) {
+        var cmp = Integer.compare(valueB, valueA);
+        return cmp != 0 ? cmp : idA.compareTo(idB);
+    }
+}
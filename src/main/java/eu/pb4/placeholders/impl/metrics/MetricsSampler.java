@@ -0,0 +1,133 @@
+package eu.pb4.placeholders.impl.metrics;
+
+import eu.pb4.placeholders.impl.GeneralUtils;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples jvm and server metrics on a background thread and publishes them as an immutable snapshot.
+ * Sampling starts with first request for given server and stops when it shuts down, so reading values
+ * costs the same no matter how many players see them. Interval (in milliseconds) can be changed
+ * with {@code placeholder-api.metrics_interval} system property.
+ */
+@ApiStatus.Internal
+public final class MetricsSampler {
+    public static final long INTERVAL = Math.max(Long.getLong("placeholder-api.metrics_interval", 1000), 50);
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "Placeholder API Metrics Sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MinecraftServer server;
+    private volatile Snapshot snapshot;
+    private volatile int loadedChunks;
+    private ScheduledFuture<?> future;
+    private boolean stopped;
+
+    public MetricsSampler(MinecraftServer server) {
+        this.server = server;
+    }
+
+    public static Snapshot get(MinecraftServer server) {
+        return ((Holder) server).placeholderApi$getMetricsSampler().snapshot();
+    }
+
+    public Snapshot snapshot() {
+        var snapshot = this.snapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = this.snapshot;
+                if (snapshot == null) {
+                    if (this.server.isOnThread()) {
+                        this.updateLoadedChunks();
+                    }
+                    snapshot = this.sample();
+                    this.snapshot = snapshot;
+                    if (!this.stopped) {
+                        this.future = EXECUTOR.scheduleWithFixedDelay(this::update, INTERVAL, INTERVAL, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Called at the end of server tick. Chunk maps can only be safely read on server thread,
+     * so count of loaded chunks is updated here once per second and read by sampler.
+     */
+    public void tick() {
+        if (this.server.getTicks() % 20 == 0) {
+            this.updateLoadedChunks();
+        }
+    }
+
+    private void updateLoadedChunks() {
+        int loadedChunks = 0;
+        for (var world : this.server.getWorlds()) {
+            loadedChunks += world.getChunkManager().getLoadedChunkCount();
+        }
+        this.loadedChunks = loadedChunks;
+    }
+
+    public synchronized void stop() {
+        this.stopped = true;
+        if (this.future != null) {
+            this.future.cancel(false);
+            this.future = null;
+        }
+    }
+
+    private void update() {
+        try {
+            this.snapshot = this.sample();
+        } catch (Throwable e) {
+            GeneralUtils.LOGGER.error("Failed to sample server metrics!", e);
+        }
+    }
+
+    private Snapshot sample() {
+        var memory = ManagementFactory.getMemoryMXBean();
+        var heap = memory.getHeapMemoryUsage();
+        var nonHeap = memory.getNonHeapMemoryUsage();
+
+        long gcCount = 0;
+        long gcTime = 0;
+        for (var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(gc.getCollectionCount(), 0);
+            gcTime += Math.max(gc.getCollectionTime(), 0);
+        }
+
+        var cpu = ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os
+                ? Math.max(os.getProcessCpuLoad(), 0) : 0;
+
+        return new Snapshot(
+                heap.getUsed(), heap.getCommitted(), heap.getMax(),
+                nonHeap.getUsed(), nonHeap.getCommitted(),
+                gcCount, gcTime,
+                ManagementFactory.getThreadMXBean().getThreadCount(),
+                cpu, this.loadedChunks, System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * @param gcTime total time spent in garbage collection, in milliseconds
+     * @param processCpuLoad recent cpu usage of the process, from 0 to 1
+     */
+    public record Snapshot(long heapUsed, long heapCommitted, long heapMax,
+                           long nonHeapUsed, long nonHeapCommitted,
+                           long gcCount, long gcTime,
+                           int threadCount, double processCpuLoad, int loadedChunks, long time) {
+    }
+
+    public interface Holder {
+        MetricsSampler placeholderApi$getMetricsSampler();
+    }
+}
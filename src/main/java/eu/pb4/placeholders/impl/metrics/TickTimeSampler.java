@@ -0,0 +1,161 @@
+package eu.pb4.placeholders.impl.metrics;
+
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Keeps history of tick durations (up to 15 minutes) in a ring buffer.
+ * For every window it keeps a running sum and a histogram, both updated
+ * incrementally as ticks are recorded, so averages are read in constant time and percentiles
+ * only walk a fixed size histogram (with result being reused for rest of the tick).
+ * Histogram buckets are 0.25 ms wide up to 64 ms, with longer ticks using log-scaled buckets
+ * (128 per power of two), so percentiles of lag spikes are still within 1% of real value.
+ */
+@ApiStatus.Internal
+public final class TickTimeSampler {
+    public static final Window[] WINDOWS = Window.values();
+    private static final int CAPACITY = Window.FIFTEEN_MINUTES.ticks;
+    private static final long BUCKET_SIZE = 250_000;
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+    private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+    private final long[] durations = new long[CAPACITY];
+    private final long[] sums = new long[WINDOWS.length];
+    private final int[][] histograms = new int[WINDOWS.length][BUCKETS];
+    private long recorded;
+
+    private long cachedAt = -1;
+    private final double[] cachedPercentiles = new double[WINDOWS.length * 101];
+
+    public static TickTimeSampler get(MinecraftServer server) {
+        return ((Holder) server).placeholderApi$getTickTimeSampler();
+    }
+
+    public synchronized void record(long duration) {
+        var index = (int) (this.recorded % CAPACITY);
+        var bucket = bucket(duration);
+
+        for (int i = 0; i < WINDOWS.length; i++) {
+            var window = WINDOWS[i].ticks;
+            if (this.recorded >= window) {
+                var removed = this.durations[(int) ((this.recorded - window) % CAPACITY)];
+                this.sums[i] -= removed;
+                this.histograms[i][bucket(removed)]--;
+            }
+            this.sums[i] += duration;
+            this.histograms[i][bucket]++;
+        }
+
+        this.durations[index] = duration;
+        this.recorded++;
+    }
+
+    /**
+     * Average duration of a tick in milliseconds, 0 if nothing was recorded yet.
+     */
+    public synchronized double averageMspt(Window window) {
+        var count = Math.min(this.recorded, window.ticks);
+        return count == 0 ? 0 : this.sums[window.ordinal()] / (count * 1_000_000d);
+    }
+
+    public double averageTps(Window window) {
+        var mspt = this.averageMspt(window);
+        return mspt == 0 ? 20 : 1000 / Math.max(mspt, 50);
+    }
+
+    /**
+     * Returns approximated percentile (0-100) of tick durations in milliseconds.
+     */
+    public synchronized double msptPercentile(Window window, int percentile) {
+        var count = Math.min(this.recorded, window.ticks);
+        if (count == 0) {
+            return 0;
+        }
+
+        if (this.cachedAt != this.recorded) {
+            this.cachedAt = this.recorded;
+            Arrays.fill(this.cachedPercentiles, -1);
+        }
+
+        var cacheIndex = window.ordinal() * 101 + percentile;
+        var value = this.cachedPercentiles[cacheIndex];
+        if (value < 0) {
+            var target = Math.max(1, (long) Math.ceil(count * percentile / 100d));
+            var histogram = this.histograms[window.ordinal()];
+            long seen = 0;
+            int bucket = 0;
+            for (; bucket < BUCKETS - 1; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= target) {
+                    break;
+                }
+            }
+            value = bucketMiddle(bucket) * BUCKET_SIZE / 1_000_000d;
+            this.cachedPercentiles[cacheIndex] = value;
+        }
+        return value;
+    }
+
+    private static int bucket(long duration) {
+        var units = Math.max(duration, 0) / BUCKET_SIZE;
+        if (units < LINEAR_BUCKETS) {
+            return (int) units;
+        }
+
+        var exponent = 63 - Long.numberOfLeadingZeros(units);
+        var shift = exponent - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) (units >> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns middle of bucket, in units of {@link #BUCKET_SIZE}
+     */
+    private static double bucketMiddle(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket + 0.5;
+        }
+
+        var shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        var start = (long) ((bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return start + (1L << shift) / 2d;
+    }
+
+    public enum Window {
+        ONE_MINUTE("1m", 20 * 60),
+        FIVE_MINUTES("5m", 20 * 60 * 5),
+        FIFTEEN_MINUTES("15m", 20 * 60 * 15);
+
+        public final String id;
+        public final int ticks;
+
+        Window(String id, int ticks) {
+            this.id = id;
+            this.ticks = ticks;
+        }
+
+        @Nullable
+        public static Window byName(@Nullable String name) {
+            if (name == null || name.isEmpty()) {
+                return ONE_MINUTE;
+            }
+
+            name = name.toLowerCase(Locale.ROOT);
+            for (var window : WINDOWS) {
+                if (window.id.equals(name)) {
+                    return window;
+                }
+            }
+            return null;
+        }
+    }
+
+    public interface Holder {
+        TickTimeSampler placeholderApi$getTickTimeSampler();
+    }
+}
@@ -0,0 +1,154 @@
+package eu.pb4.placeholders.impl.placeholder;
+
+import com.google.common.collect.MapMaker;
+import eu.pb4.placeholders.api.BatchPlaceholderHandler;
+import eu.pb4.placeholders.api.ParserContext;
+import eu.pb4.placeholders.api.PlaceholderContext;
+import eu.pb4.placeholders.api.PlaceholderResult;
+import eu.pb4.placeholders.api.node.*;
+import eu.pb4.placeholders.api.node.parent.*;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import eu.pb4.placeholders.impl.ParserContextPool;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Results of batch placeholders, resolved before rendering and then read by {@link PlaceholderNode}.
+ * Placeholder nodes of every rendered node are collected once and cached, so texts without
+ * batch placeholders only pay for a lookup of their handlers.
+ */
+@ApiStatus.Internal
+public final class PlaceholderBatch {
+    public static final ParserContext.Key<PlaceholderBatch> KEY = new ParserContext.Key<>("placeholder_batch", PlaceholderBatch.class);
+    private static final Map<TextNode, PlaceholderNode[]> NODES = new MapMaker().weakKeys().makeMap();
+    private static final PlaceholderNode[] EMPTY = new PlaceholderNode[0];
+
+    private final Map<BatchPlaceholderHandler, Map<BatchPlaceholderHandler.Request, PlaceholderResult>> results = new IdentityHashMap<>();
+
+    private PlaceholderBatch() {}
+
+    public static Text toText(TextNode node, PlaceholderContext context) {
+        var batch = create(node, List.of(context));
+        return batch != null ? render(node, context, batch) : ParserContextPool.toText(node, context);
+    }
+
+    public static List<Text> toTexts(TextNode node, List<PlaceholderContext> contexts) {
+        var batch = create(node, contexts);
+        var list = new ArrayList<Text>(contexts.size());
+        for (var context : contexts) {
+            list.add(batch != null ? render(node, context, batch) : ParserContextPool.toText(node, context));
+        }
+        return list;
+    }
+
+    @Nullable
+    PlaceholderResult get(BatchPlaceholderHandler handler, @Nullable PlaceholderContext context, @Nullable String argument) {
+        var map = this.results.get(handler);
+        return map != null && context != null ? map.get(new BatchPlaceholderHandler.Request(context, argument)) : null;
+    }
+
+    private static Text render(TextNode node, PlaceholderContext context, PlaceholderBatch batch) {
+        return ParserContextPool.apply(context, parserContext -> node.toText(parserContext.with(KEY, batch), true));
+    }
+
+    /**
+     * Resolves requests of all batch placeholders in node, returning null if there aren't any
+     */
+    @Nullable
+    private static PlaceholderBatch create(TextNode node, List<PlaceholderContext> contexts) {
+        var nodes = NODES.get(node);
+        if (nodes == null) {
+            var list = new ArrayList<PlaceholderNode>();
+            collect(node, list);
+            nodes = list.isEmpty() ? EMPTY : list.toArray(EMPTY);
+            NODES.put(node, nodes);
+        }
+
+        Map<BatchPlaceholderHandler, LinkedHashSet<BatchPlaceholderHandler.Request>> requests = null;
+        for (var placeholder : nodes) {
+            // Only default context key is filled by rendering, other ones can't be known ahead
+            if (placeholder.contextKey() != PlaceholderContext.KEY
+                    || !(placeholder.getter().getPlaceholder(placeholder.placeholder()) instanceof BatchPlaceholderHandler handler)) {
+                continue;
+            }
+
+            if (requests == null) {
+                requests = new IdentityHashMap<>();
+            }
+            var set = requests.computeIfAbsent(handler, x -> new LinkedHashSet<>());
+            for (var context : contexts) {
+                set.add(new BatchPlaceholderHandler.Request(context, placeholder.argument()));
+            }
+        }
+
+        if (requests == null) {
+            return null;
+        }
+
+        var batch = new PlaceholderBatch();
+        for (var entry : requests.entrySet()) {
+            var list = List.copyOf(entry.getValue());
+            try {
+                var results = entry.getKey().onPlaceholderRequests(list);
+                var map = new HashMap<BatchPlaceholderHandler.Request, PlaceholderResult>(list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    map.put(list.get(i), results.get(i));
+                }
+                batch.results.put(entry.getKey(), map);
+            } catch (Throwable e) {
+                // Placeholders will be requested one by one instead, reporting their errors
+                GeneralUtils.LOGGER.error("Error occurred while resolving batch placeholder requests!", e);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Collects placeholder nodes from node and every TextNode it resolves while rendering (hover, click and insertion
+     * values, separators and translation arguments), so batch handlers see all requests of the text.
+     */
+    private static void collect(@Nullable TextNode node, List<PlaceholderNode> list) {
+        if (node == null) {
+            return;
+        }
+
+        if (node instanceof PlaceholderNode placeholderNode) {
+            list.add(placeholderNode);
+        } else if (node instanceof TranslatedNode translatedNode) {
+            for (var arg : translatedNode.args()) {
+                if (arg instanceof TextNode textNode) {
+                    collect(textNode, list);
+                }
+            }
+        } else if (node instanceof SelectorNode selectorNode) {
+            collect(selectorNode.separator().orElse(null), list);
+        } else if (node instanceof NbtNode nbtNode) {
+            collect(nbtNode.separator().orElse(null), list);
+        } else if (node instanceof NonTransformableNode nonTransformableNode) {
+            collect(nonTransformableNode.node(), list);
+        } else if (node instanceof ParentNode parentNode) {
+            if (parentNode instanceof HoverNode<?, ?> hoverNode) {
+                if (hoverNode.value() instanceof TextNode textNode) {
+                    collect(textNode, list);
+                } else if (hoverNode.value() instanceof HoverNode.EntityNodeContent content) {
+                    collect(content.name(), list);
+                }
+            } else if (parentNode instanceof StyledNode styledNode) {
+                collect(styledNode.hoverValue(), list);
+                collect(styledNode.clickValue(), list);
+                collect(styledNode.insertion(), list);
+            } else if (parentNode instanceof ClickActionNode clickActionNode) {
+                collect(clickActionNode.value(), list);
+            } else if (parentNode instanceof InsertNode insertNode) {
+                collect(insertNode.value(), list);
+            }
+
+            for (var child : parentNode.getChildren()) {
+                collect(child, list);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package eu.pb4.placeholders.impl.placeholder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mojang.authlib.GameProfile;
+import eu.pb4.placeholders.api.PlaceholderContext;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps PlaceholderContexts of players and game profiles, per view object.
+ * Player entries are stored on the player itself (as contexts reference it, weak keyed map would never release them),
+ * so they go away together with it, even for players that never go through PlayerManager (like fake ones).
+ * They are also removed once player disconnects or respawns and replaced when they change world.
+ * Entries of both are invalidated when player is opped or deopped, with profiles being cleared on server stop.
+ */
+@ApiStatus.Internal
+public final class PlaceholderContextCache {
+    private static final Cache<GameProfile, Entry> PROFILES = CacheBuilder.newBuilder()
+            .maximumSize(4096)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private PlaceholderContextCache() {}
+
+    public static PlaceholderContext get(ServerPlayerEntity player, PlaceholderContext.ViewObject view) {
+        var holder = (Holder) player;
+        if (player.isDisconnected() || player.isRemoved()) {
+            holder.placeholderApi$setContextCache(null);
+            return PlaceholderContext.of(player, view);
+        }
+
+        var entry = holder.placeholderApi$getContextCache();
+
+        if (entry == null || entry.world != player.getWorld()) {
+            entry = new Entry(player.getWorld());
+            holder.placeholderApi$setContextCache(entry);
+        }
+
+        return entry.contexts.computeIfAbsent(view, v -> PlaceholderContext.of(player, v));
+    }
+
+    public static PlaceholderContext get(GameProfile profile, MinecraftServer server, PlaceholderContext.ViewObject view) {
+        var entry = PROFILES.getIfPresent(profile);
+
+        if (entry == null) {
+            entry = new Entry(null);
+            PROFILES.put(profile, entry);
+        }
+
+        return entry.contexts.computeIfAbsent(view, v -> PlaceholderContext.of(profile, server, v));
+    }
+
+    public static void remove(ServerPlayerEntity player) {
+        ((Holder) player).placeholderApi$setContextCache(null);
+    }
+
+    /**
+     * Invalidates contexts of profile and its player, called when their permission level changes
+     */
+    public static void invalidate(GameProfile profile, @Nullable ServerPlayerEntity player) {
+        if (player != null) {
+            remove(player);
+        }
+        var id = profile.getId();
+        PROFILES.asMap().keySet().removeIf(key -> Objects.equals(key.getId(), id));
+    }
+
+    public static void clear() {
+        PROFILES.invalidateAll();
+    }
+
+    public static final class Entry {
+        @Nullable
+        private final ServerWorld world;
+        private final Map<PlaceholderContext.ViewObject, PlaceholderContext> contexts = new ConcurrentHashMap<>(2);
+
+        private Entry(@Nullable ServerWorld world) {
+            this.world = world;
+        }
+    }
+
+    public interface Holder {
+        @Nullable
+        Entry placeholderApi$getContextCache();
+
+        void placeholderApi$setContextCache(@Nullable Entry entry);
+    }
+}
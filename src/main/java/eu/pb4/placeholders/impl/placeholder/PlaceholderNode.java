@@ -1,7 +1,9 @@
 package eu.pb4.placeholders.impl.placeholder;
 
+import eu.pb4.placeholders.api.BatchPlaceholderHandler;
 import eu.pb4.placeholders.api.PlaceholderContext;
 import eu.pb4.placeholders.api.Placeholders;
+import eu.pb4.placeholders.api.node.NodeMetadata;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.impl.GeneralUtils;
@@ -9,6 +11,7 @@ import net.minecraft.text.Text;
 import org.jetbrains.annotations.ApiStatus;
 
 import javax.annotation.Nullable;
+import java.util.Set;
 
 @ApiStatus.Internal
 public record PlaceholderNode(ParserContext.Key<PlaceholderContext> contextKey, String placeholder, Placeholders.PlaceholderGetter getter, boolean optionalContext, @Nullable String argument) implements TextNode {
@@ -18,6 +21,13 @@ public record PlaceholderNode(ParserContext.Key<PlaceholderContext> contextKey,
         var handler = getter.getPlaceholder(placeholder, context);
         if ((ctx != null || this.optionalContext) && handler != null) {
             try {
+                if (handler instanceof BatchPlaceholderHandler batchHandler) {
+                    var batch = context.get(PlaceholderBatch.KEY);
+                    var result = batch != null ? batch.get(batchHandler, ctx, argument) : null;
+                    if (result != null) {
+                        return result.text();
+                    }
+                }
                 return handler.onPlaceholderRequest(ctx, argument).text();
             } catch (Throwable e) {
                 GeneralUtils.LOGGER.error("Error occurred while parsing placeholder " + placeholder + " / " + contextKey.key() + "!", e);
@@ -35,4 +45,9 @@ public record PlaceholderNode(ParserContext.Key<PlaceholderContext> contextKey,
     public boolean isDynamic() {
         return true;
     }
+
+    @Override
+    public NodeMetadata metadata() {
+        return new NodeMetadata(true, Set.of(this.placeholder), -1, 1);
+    }
 }
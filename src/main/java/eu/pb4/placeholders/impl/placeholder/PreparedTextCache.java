@@ -0,0 +1,50 @@
+package eu.pb4.placeholders.impl.placeholder;
+
+import com.google.common.collect.MapMaker;
+import eu.pb4.placeholders.api.Placeholders;
+import eu.pb4.placeholders.api.node.parent.ParentNode;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps converted and placeholder-parsed node trees of vanilla Text.
+ * Keys are weakly referenced and compared by identity, so entries disappear together with Text they were created for.
+ * Only trees using default placeholder getter are cached, as custom getters are often created per call.
+ */
+@ApiStatus.Internal
+public final class PreparedTextCache {
+    private static final ConcurrentMap<Text, Map<Pattern, ParentNode>> CACHE = new MapMaker().weakKeys().makeMap();
+    private static final int MAX_PATTERNS = 8;
+
+    private PreparedTextCache() {}
+
+    public static ParentNode get(Text text, Pattern pattern, Placeholders.PlaceholderGetter getter, Supplier<ParentNode> supplier) {
+        if (getter != Placeholders.DEFAULT_PLACEHOLDER_GETTER) {
+            return supplier.get();
+        }
+
+        var map = CACHE.computeIfAbsent(text, x -> new ConcurrentHashMap<>(2));
+        var node = map.get(pattern);
+
+        if (node == null) {
+            node = supplier.get();
+            // Patterns are compared by identity, so ones compiled per call would grow it forever
+            if (map.size() >= MAX_PATTERNS) {
+                map.clear();
+            }
+            map.put(pattern, node);
+        }
+
+        return node;
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+}
@@ -0,0 +1,198 @@
+package eu.pb4.placeholders.impl.placeholder;
+
+import eu.pb4.placeholders.api.PlaceholderContext;
+import eu.pb4.placeholders.api.Placeholders;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import net.minecraft.text.*;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces placeholders directly in vanilla Text. Only literal contents are scanned and only
+ * ancestors of changed parts are rebuilt, everything else is shared with the input.
+ */
+@ApiStatus.Internal
+public final class TextPlaceholderReplacer {
+    private final Matcher matcher;
+    private final Function<String, @Nullable Text> placeholderProvider;
+
+    private TextPlaceholderReplacer(Pattern pattern, Function<String, @Nullable Text> placeholderProvider) {
+        this.matcher = pattern.matcher("");
+        this.placeholderProvider = placeholderProvider;
+    }
+
+    public static Text replace(Text input, Pattern pattern, Placeholders.PlaceholderGetter placeholders, PlaceholderContext context) {
+        var parserContext = context.asParserContext();
+        return replace(input, pattern, (arg) -> {
+            var args = arg.split(" ", 2);
+            var handler = placeholders.getPlaceholder(args[0], parserContext);
+
+            if (handler == null) {
+                return null;
+            }
+
+            try {
+                return handler.onPlaceholderRequest(context, args.length == 2 ? args[1] : null).text();
+            } catch (Throwable e) {
+                GeneralUtils.LOGGER.error("Error occurred while parsing placeholder " + args[0] + "!", e);
+                return Text.empty();
+            }
+        });
+    }
+
+    public static Text replace(Text input, Pattern pattern, Function<String, @Nullable Text> placeholderProvider) {
+        var out = new TextPlaceholderReplacer(pattern, placeholderProvider).replace(input);
+        return out != null ? out : input;
+    }
+
+    @Nullable
+    private MutableText replace(Text input) {
+        var content = input.getContent();
+
+        List<Text> literalParts = null;
+        Object[] args = null;
+
+        if (content instanceof LiteralTextContent literal) {
+            literalParts = this.replace(literal.string());
+        } else if (content instanceof TranslatableTextContent translatable) {
+            var original = translatable.getArgs();
+            for (int i = 0; i < original.length; i++) {
+                if (original[i] instanceof Text argText) {
+                    var replaced = this.replace(argText);
+                    if (replaced != null) {
+                        if (args == null) {
+                            args = original.clone();
+                        }
+                        args[i] = replaced;
+                    }
+                }
+            }
+        }
+
+        var style = this.replace(input.getStyle());
+
+        List<Text> siblings = null;
+        var originalSiblings = input.getSiblings();
+        for (int i = 0; i < originalSiblings.size(); i++) {
+            var replaced = this.replace(originalSiblings.get(i));
+            if (replaced != null) {
+                if (siblings == null) {
+                    siblings = new ArrayList<>(originalSiblings);
+                }
+                siblings.set(i, replaced);
+            }
+        }
+
+        if (literalParts == null && args == null && style == null && siblings == null) {
+            return null;
+        }
+
+        MutableText out;
+        if (literalParts != null) {
+            if (literalParts.get(0).getContent() instanceof LiteralTextContent && literalParts.get(0).getStyle().isEmpty() && literalParts.get(0).getSiblings().isEmpty()) {
+                out = literalParts.get(0).copyContentOnly();
+                literalParts = literalParts.subList(1, literalParts.size());
+            } else {
+                out = Text.empty();
+            }
+
+            for (var part : literalParts) {
+                out.append(part);
+            }
+        } else if (args != null) {
+            out = GeneralUtils.translatable((TranslatableTextContent) content, args);
+        } else {
+            out = input.copyContentOnly();
+        }
+
+        for (var sibling : siblings != null ? siblings : originalSiblings) {
+            out.append(sibling);
+        }
+
+        return out.setStyle(style != null ? style : input.getStyle());
+    }
+
+    @Nullable
+    private Style replace(Style style) {
+        Style out = null;
+
+        var hoverEvent = style.getHoverEvent();
+        if (hoverEvent != null && hoverEvent.getAction() == HoverEvent.Action.SHOW_TEXT) {
+            var replaced = this.replace(hoverEvent.getValue(HoverEvent.Action.SHOW_TEXT));
+            if (replaced != null) {
+                out = style.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, replaced));
+            }
+        }
+
+        var clickEvent = style.getClickEvent();
+        if (clickEvent != null) {
+            var replaced = this.replaceString(clickEvent.getValue());
+            if (replaced != null) {
+                out = (out != null ? out : style).withClickEvent(new ClickEvent(clickEvent.getAction(), replaced));
+            }
+        }
+
+        if (style.getInsertion() != null) {
+            var replaced = this.replaceString(style.getInsertion());
+            if (replaced != null) {
+                out = (out != null ? out : style).withInsertion(replaced);
+            }
+        }
+
+        return out;
+    }
+
+    @Nullable
+    private String replaceString(String string) {
+        var parts = this.replace(string);
+
+        if (parts == null) {
+            return null;
+        }
+
+        var builder = new StringBuilder();
+        for (var part : parts) {
+            builder.append(part.getString());
+        }
+        return builder.toString();
+    }
+
+    @Nullable
+    private List<Text> replace(String string) {
+        var matcher = this.matcher.reset(string);
+        List<Text> out = null;
+        int previousEnd = 0;
+
+        while (matcher.find()) {
+            var start = matcher.start();
+            var output = this.placeholderProvider.apply(matcher.group("id"));
+
+            if (output != null) {
+                if (out == null) {
+                    out = new ArrayList<>();
+                }
+
+                if (start != previousEnd) {
+                    out.add(Text.literal(string.substring(previousEnd, start)));
+                }
+                out.add(output);
+
+                previousEnd = matcher.end();
+            } else {
+                matcher.region(start + 1, string.length());
+            }
+        }
+
+        if (out != null && previousEnd != string.length()) {
+            out.add(Text.literal(string.substring(previousEnd)));
+        }
+
+        return out;
+    }
+}
@@ -0,0 +1,88 @@
+package eu.pb4.placeholders.impl.placeholder.builtin;
+
+import eu.pb4.placeholders.api.PlaceholderResult;
+import eu.pb4.placeholders.api.Placeholders;
+import eu.pb4.placeholders.impl.leaderboard.LeaderboardManager;
+import net.minecraft.stat.Stat;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+
+public class LeaderboardPlaceholders {
+    public static void register() {
+        Placeholders.register(new Identifier("leaderboard", "name"), (ctx, arg) -> {
+            var args = arg != null ? arg.split(" ") : new String[0];
+            var position = parsePosition(args);
+            var stat = parseStatistic(args, 1);
+            if (position < 0 || stat == null) {
+                return PlaceholderResult.invalid("Invalid argument!");
+            }
+
+            var manager = LeaderboardManager.get(ctx.server());
+            var uuid = manager.getLeaderboard(stat).idAt(position);
+            return PlaceholderResult.literal(uuid != null ? manager.getName(uuid) : "-");
+        });
+
+        Placeholders.register(new Identifier("leaderboard", "value"), (ctx, arg) -> {
+            var args = arg != null ? arg.split(" ") : new String[0];
+            var position = parsePosition(args);
+            var stat = parseStatistic(args, 1);
+            if (position < 0 || stat == null) {
+                return PlaceholderResult.invalid("Invalid argument!");
+            }
+
+            var leaderboard = LeaderboardManager.get(ctx.server()).getLeaderboard(stat);
+            return PlaceholderResult.literal(position < leaderboard.size() ? stat.format(leaderboard.valueAt(position)) : "-");
+        });
+
+        Placeholders.register(new Identifier("leaderboard", "value_raw"), (ctx, arg) -> {
+            var args = arg != null ? arg.split(" ") : new String[0];
+            var position = parsePosition(args);
+            var stat = parseStatistic(args, 1);
+            if (position < 0 || stat == null) {
+                return PlaceholderResult.invalid("Invalid argument!");
+            }
+
+            var leaderboard = LeaderboardManager.get(ctx.server()).getLeaderboard(stat);
+            return position < leaderboard.size() ? PlaceholderResult.value(leaderboard.valueAt(position)) : PlaceholderResult.literal("-");
+        });
+
+        Placeholders.register(new Identifier("leaderboard", "rank"), (ctx, arg) -> {
+            if (!ctx.hasPlayer()) {
+                return PlaceholderResult.invalid("No player!");
+            }
+
+            var stat = arg != null ? parseStatistic(arg.split(" "), 0) : null;
+            if (stat == null) {
+                return PlaceholderResult.invalid("Invalid statistic!");
+            }
+
+            var rank = LeaderboardManager.get(ctx.server()).getLeaderboard(stat).rank(ctx.player().getUuid());
+            return rank > 0 ? PlaceholderResult.value(rank) : PlaceholderResult.literal("-");
+        });
+    }
+
+    /**
+     * Returns 0-based position from first argument, or -1 if it's invalid.
+     */
+    private static int parsePosition(String[] args) {
+        try {
+            return args.length > 0 ? Math.max(Integer.parseInt(args[0]) - 1, -1) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses statistic used by player:statistic and leaderboard placeholders, either as a custom statistic or as type and key.
+     */
+    @Nullable
+    static Stat<?> parseStatistic(String[] args, int start) {
+        if (args.length == start + 1) {
+            return LeaderboardManager.createStat(new Identifier("custom"), Identifier.tryParse(args[start]));
+        } else if (args.length >= start + 2) {
+            return LeaderboardManager.createStat(Identifier.tryParse(args[start]), Identifier.tryParse(args[start + 1]));
+        }
+        return null;
+    }
+}
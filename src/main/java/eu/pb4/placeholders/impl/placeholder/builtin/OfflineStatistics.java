@@ -0,0 +1,159 @@
+package eu.pb4.placeholders.impl.placeholder.builtin;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.mojang.authlib.GameProfile;
+import eu.pb4.placeholders.api.PlaceholderContext;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.stat.Stat;
+import net.minecraft.util.Util;
+import net.minecraft.util.WorldSavePath;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Statistics of offline players, read from their stats file in background.
+ * Only requested statistics are parsed, with ones requested in the same moment being read together.
+ * Values are kept in a size bounded cache and refreshed after a minute. Size of it and value shown while
+ * statistic is loading can be changed with {@code placeholder-api.offline_stats_cache_size}
+ * and {@code placeholder-api.offline_stats_fallback} system properties.
+ */
+@ApiStatus.Internal
+public final class OfflineStatistics {
+    static final String FALLBACK = System.getProperty("placeholder-api.offline_stats_fallback", "-");
+    private static final long CACHE_SIZE = Long.getLong("placeholder-api.offline_stats_cache_size", 1000);
+
+    private final MinecraftServer server;
+    private final Cache<UUID, Entry> cache = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+
+    public OfflineStatistics(MinecraftServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Returns value of statistic for player of the context, or null if it isn't available yet.
+     * Online players (including ones only provided as game profile) are always read directly.
+     */
+    @Nullable
+    static Integer get(PlaceholderContext context, Stat<?> stat) {
+        if (context.hasPlayer()) {
+            return context.player().getStatHandler().getStat(stat);
+        }
+
+        var player = context.server().getPlayerManager().getPlayer(context.gameProfile().getId());
+        if (player != null) {
+            return player.getStatHandler().getStat(stat);
+        }
+
+        return ((Holder) context.server()).placeholderApi$getOfflineStatistics().getOffline(context.gameProfile(), stat);
+    }
+
+    static boolean canGet(PlaceholderContext context) {
+        return context.hasPlayer() || (context.hasGameProfile() && context.gameProfile().getId() != null);
+    }
+
+    @Nullable
+    private Integer getOffline(GameProfile profile, Stat<?> stat) {
+        Entry entry;
+        try {
+            entry = this.cache.get(profile.getId(), Entry::new);
+        } catch (ExecutionException e) {
+            return null;
+        }
+
+        var value = entry.values.get(stat);
+        if (value == null) {
+            entry.requested.add(stat);
+            if (entry.scheduled.compareAndSet(false, true)) {
+                Util.getIoWorkerExecutor().execute(() -> this.load(profile.getId(), entry));
+            }
+        }
+        return value;
+    }
+
+    private void load(UUID uuid, Entry entry) {
+        entry.scheduled.set(false);
+        var requested = new HashMap<String, Map<String, Stat<?>>>();
+        for (var iterator = entry.requested.iterator(); iterator.hasNext(); ) {
+            var stat = iterator.next();
+            iterator.remove();
+            requested.computeIfAbsent(Registries.STAT_TYPE.getId(stat.getType()).toString(), x -> new HashMap<>()).put(getKey(stat), stat);
+        }
+
+        if (requested.isEmpty()) {
+            return;
+        }
+
+        var path = this.server.getSavePath(WorldSavePath.STATS).resolve(uuid + ".json");
+        try (var reader = new JsonReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("stats") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        var stats = requested.get(reader.nextName());
+                        if (stats != null && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                            reader.beginObject();
+                            while (reader.hasNext()) {
+                                var stat = stats.get(reader.nextName());
+                                if (stat != null && reader.peek() == JsonToken.NUMBER) {
+                                    entry.values.put(stat, reader.nextInt());
+                                } else {
+                                    reader.skipValue();
+                                }
+                            }
+                            reader.endObject();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Player never joined, so every statistic is 0
+        } catch (IOException | RuntimeException e) {
+            GeneralUtils.LOGGER.warn("Failed to read statistics of player " + uuid + "!", e);
+        }
+
+        // Statistics missing from file are just not increased yet
+        for (var stats : requested.values()) {
+            for (var stat : stats.values()) {
+                entry.values.putIfAbsent(stat, 0);
+            }
+        }
+    }
+
+    private static <T> String getKey(Stat<T> stat) {
+        return Objects.requireNonNull(stat.getType().getRegistry().getId(stat.getValue())).toString();
+    }
+
+    public interface Holder {
+        OfflineStatistics placeholderApi$getOfflineStatistics();
+    }
+
+    private static final class Entry {
+        private final Map<Stat<?>, Integer> values = new ConcurrentHashMap<>();
+        private final Set<Stat<?>> requested = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+}
@@ -3,15 +3,15 @@ package eu.pb4.placeholders.impl.placeholder.builtin;
 import eu.pb4.placeholders.api.PlaceholderResult;
 import eu.pb4.placeholders.api.Placeholders;
 import eu.pb4.placeholders.impl.GeneralUtils;
+import eu.pb4.placeholders.impl.format.NumberFormatter;
 import net.minecraft.entity.EquipmentSlot;
-import net.minecraft.registry.Registries;
 import net.minecraft.scoreboard.Team;
-import net.minecraft.stat.StatType;
 import net.minecraft.stat.Stats;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
-import org.apache.commons.lang3.time.DurationFormatUtils;
+
+import java.time.Duration;
 
 
 public class PlayerPlaceholders {
@@ -28,7 +28,7 @@ public class PlayerPlaceholders {
 
         Placeholders.register(new Identifier("player", "name_visual"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
-                return PlaceholderResult.value(GeneralUtils.removeHoverAndClick(ctx.player().getName()));
+                return PlaceholderResult.value(VisualNameCache.name(ctx.player()));
             } else if (ctx.hasGameProfile()) {
                 return PlaceholderResult.value(Text.of(ctx.gameProfile().getName()));
             } else {
@@ -48,7 +48,7 @@ public class PlayerPlaceholders {
 
         Placeholders.register(new Identifier("player", "ping"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
-                return PlaceholderResult.value(String.valueOf(ctx.player().pingMilliseconds));
+                return PlaceholderResult.value(ctx.player().pingMilliseconds);
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -57,7 +57,7 @@ public class PlayerPlaceholders {
         Placeholders.register(new Identifier("player", "ping_colored"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
                 int x = ctx.player().pingMilliseconds;
-                return PlaceholderResult.value(Text.literal(String.valueOf(x)).formatted(x < 100 ? Formatting.GREEN : x < 200 ? Formatting.GOLD : Formatting.RED));
+                return PlaceholderResult.value(Text.literal(String.valueOf(x)).formatted(x < 100 ? Formatting.GREEN : x < 200 ? Formatting.GOLD : Formatting.RED), (long) x);
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -77,7 +77,7 @@ public class PlayerPlaceholders {
 
         Placeholders.register(new Identifier("player", "displayname_visual"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
-                return PlaceholderResult.value(GeneralUtils.removeHoverAndClick(ctx.player().getDisplayName()));
+                return PlaceholderResult.value(VisualNameCache.displayName(ctx.player()));
             } else if (ctx.hasGameProfile()) {
                 return PlaceholderResult.value(Text.of(ctx.gameProfile().getName()));
             } else {
@@ -175,47 +175,26 @@ public class PlayerPlaceholders {
         });
 
         Placeholders.register(new Identifier("player", "playtime"), (ctx, arg) -> {
-            if (ctx.hasPlayer()) {
-                int x = ctx.player().getStatHandler().getStat(Stats.CUSTOM.getOrCreateStat(Stats.PLAY_TIME));
-                return PlaceholderResult.value(arg != null
-                        ? DurationFormatUtils.formatDuration((long) x * 50, arg, true)
-                        : GeneralUtils.durationToString((long) x / 20)
-                );
+            if (OfflineStatistics.canGet(ctx)) {
+                var x = OfflineStatistics.get(ctx, Stats.CUSTOM.getOrCreateStat(Stats.PLAY_TIME));
+                if (x == null) {
+                    return PlaceholderResult.formatted(OfflineStatistics.FALLBACK);
+                }
+
+                return arg != null
+                        ? PlaceholderResult.value(NumberFormatter.duration((long) x * 50, arg))
+                        : PlaceholderResult.value(Duration.ofMillis((long) x * 50));
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
         });
 
         Placeholders.register(new Identifier("player", "statistic"), (ctx, arg) -> {
-            if (ctx.hasPlayer() && arg != null) {
-                try {
-                    var args = arg.split(" ");
-
-                    if (args.length == 1) {
-                        var identifier = Identifier.tryParse(args[0]);
-                        if (identifier != null) {
-                            var stat = Stats.CUSTOM.getOrCreateStat(Registries.CUSTOM_STAT.get(identifier));
-                            int x = ctx.player().getStatHandler().getStat(stat);
-                            return PlaceholderResult.value(stat.format(x));
-                        }
-                    } else if (args.length >= 2) {
-                        var type = Identifier.tryParse(args[0]);
-                        var id = Identifier.tryParse(args[1]);
-                        if (type != null) {
-                            var statType = (StatType<Object>) Registries.STAT_TYPE.get(type);
-
-                            if (statType != null) {
-                                var key = statType.getRegistry().get(id);
-                                if (key != null) {
-                                    var stat = statType.getOrCreateStat(key);
-                                    int x = ctx.player().getStatHandler().getStat(stat);
-                                    return PlaceholderResult.value(stat.format(x));
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    /* Into the void you go! */
+            if (OfflineStatistics.canGet(ctx) && arg != null) {
+                var stat = LeaderboardPlaceholders.parseStatistic(arg.split(" "), 0);
+                if (stat != null) {
+                    var x = OfflineStatistics.get(ctx, stat);
+                    return x != null ? PlaceholderResult.literal(stat.format(x)) : PlaceholderResult.formatted(OfflineStatistics.FALLBACK);
                 }
                 return PlaceholderResult.invalid("Invalid statistic!");
             } else {
@@ -224,35 +203,11 @@ public class PlayerPlaceholders {
         });
 
         Placeholders.register(new Identifier("player", "statistic_raw"), (ctx, arg) -> {
-            if (ctx.hasPlayer() && arg != null) {
-                try {
-                    var args = arg.split(" ");
-
-                    if (args.length == 1) {
-                        var identifier = Identifier.tryParse(args[0]);
-                        if (identifier != null) {
-                            var stat = Stats.CUSTOM.getOrCreateStat(Registries.CUSTOM_STAT.get(identifier));
-                            int x = ctx.player().getStatHandler().getStat(stat);
-                            return PlaceholderResult.value(String.valueOf(x));
-                        }
-                    } else if (args.length >= 2) {
-                        var type = Identifier.tryParse(args[0]);
-                        var id = Identifier.tryParse(args[1]);
-                        if (type != null) {
-                            var statType = (StatType<Object>) Registries.STAT_TYPE.get(type);
-
-                            if (statType != null) {
-                                var key = statType.getRegistry().get(id);
-                                if (key != null) {
-                                    var stat = statType.getOrCreateStat(key);
-                                    int x = ctx.player().getStatHandler().getStat(stat);
-                                    return PlaceholderResult.value(String.valueOf(x));
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    /* Into the void you go! */
+            if (OfflineStatistics.canGet(ctx) && arg != null) {
+                var stat = LeaderboardPlaceholders.parseStatistic(arg.split(" "), 0);
+                if (stat != null) {
+                    var x = OfflineStatistics.get(ctx, stat);
+                    return x != null ? PlaceholderResult.value(x) : PlaceholderResult.formatted(OfflineStatistics.FALLBACK);
                 }
                 return PlaceholderResult.invalid("Invalid statistic!");
             } else {
@@ -263,18 +218,7 @@ public class PlayerPlaceholders {
         Placeholders.register(new Identifier("player", "pos_x"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
                 double value = ctx.player().getX();
-                String format = "%.2f";
-
-                if (arg != null) {
-                    try {
-                        int x = Integer.parseInt(arg);
-                        format = "%." + x + "f";
-                    } catch (Exception e) {
-                        format = "%.2f";
-                    }
-                }
-
-                return PlaceholderResult.value(String.format(format, value));
+                return PlaceholderResult.value(value, NumberFormatter.parseDecimals(arg, 2));
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -283,18 +227,7 @@ public class PlayerPlaceholders {
         Placeholders.register(new Identifier("player", "pos_y"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
                 double value = ctx.player().getY();
-                String format = "%.2f";
-
-                if (arg != null) {
-                    try {
-                        int x = Integer.parseInt(arg);
-                        format = "%." + x + "f";
-                    } catch (Exception e) {
-                        format = "%.2f";
-                    }
-                }
-
-                return PlaceholderResult.value(String.format(format, value));
+                return PlaceholderResult.value(value, NumberFormatter.parseDecimals(arg, 2));
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -303,18 +236,7 @@ public class PlayerPlaceholders {
         Placeholders.register(new Identifier("player", "pos_z"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
                 double value = ctx.player().getZ();
-                String format = "%.2f";
-
-                if (arg != null) {
-                    try {
-                        int x = Integer.parseInt(arg);
-                        format = "%." + x + "f";
-                    } catch (Exception e) {
-                        format = "%.2f";
-                    }
-                }
-
-                return PlaceholderResult.value(String.format(format, value));
+                return PlaceholderResult.value(value, NumberFormatter.parseDecimals(arg, 2));
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -332,7 +254,7 @@ public class PlayerPlaceholders {
 
         Placeholders.register(new Identifier("player", "health"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
-                return PlaceholderResult.value(String.format("%.0f", ctx.player().getHealth()));
+                return PlaceholderResult.value(ctx.player().getHealth(), 0);
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -340,7 +262,7 @@ public class PlayerPlaceholders {
 
         Placeholders.register(new Identifier("player", "max_health"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
-                return PlaceholderResult.value(String.format("%.0f", ctx.player().getMaxHealth()));
+                return PlaceholderResult.value(ctx.player().getMaxHealth(), 0);
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -348,7 +270,7 @@ public class PlayerPlaceholders {
 
         Placeholders.register(new Identifier("player", "hunger"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
-                return PlaceholderResult.value(String.format("%.0f", ctx.player().getHungerManager().getFoodLevel()));
+                return PlaceholderResult.value(ctx.player().getHungerManager().getFoodLevel(), 0);
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -356,7 +278,7 @@ public class PlayerPlaceholders {
 
         Placeholders.register(new Identifier("player", "saturation"), (ctx, arg) -> {
             if (ctx.hasPlayer()) {
-                return PlaceholderResult.value(String.format("%.0f", ctx.player().getHungerManager().getSaturationLevel()));
+                return PlaceholderResult.value(ctx.player().getHungerManager().getSaturationLevel(), 0);
             } else {
                 return PlaceholderResult.invalid("No player!");
             }
@@ -2,14 +2,14 @@ package eu.pb4.placeholders.impl.placeholder.builtin;
 
 import eu.pb4.placeholders.api.Placeholders;
 import eu.pb4.placeholders.api.PlaceholderResult;
+import eu.pb4.placeholders.impl.format.NumberFormatter;
+import eu.pb4.placeholders.impl.metrics.MetricsSampler;
+import eu.pb4.placeholders.impl.metrics.TickTimeSampler;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
 
-import java.lang.management.ManagementFactory;
-import java.lang.management.MemoryMXBean;
-import java.lang.management.MemoryUsage;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Objects;
@@ -18,49 +18,61 @@ public class ServerPlaceholders {
     public static void register() {
         Placeholders.register(new Identifier("server", "tps"), (ctx, arg) -> {
             double tps = 1000f / Math.max(ctx.server().getTickTime(), 50);
-            String format = "%.1f";
-
-            if (arg != null) {
-                try {
-                    int x = Integer.parseInt(arg);
-                    format = "%." + x + "f";
-                } catch (Exception e) {
-                    format = "%.1f";
-                }
-            }
-
-            return PlaceholderResult.value(String.format(format, tps));
+            var decimals = NumberFormatter.parseDecimals(arg, 1);
+            return PlaceholderResult.value(tps, decimals);
         });
 
         Placeholders.register(new Identifier("server", "tps_colored"), (ctx, arg) -> {
             double tps = 1000f / Math.max(ctx.server().getTickTime(), 50);
-            String format = "%.1f";
-
-            if (arg != null) {
-                try {
-                    int x = Integer.parseInt(arg);
-                    format = "%." + x + "f";
-                } catch (Exception e) {
-                    format = "%.1f";
-                }
-            }
-            return PlaceholderResult.value(Text.literal(String.format(format, tps)).formatted(tps > 19 ? Formatting.GREEN : tps > 16 ? Formatting.GOLD : Formatting.RED));
+            var decimals = NumberFormatter.parseDecimals(arg, 1);
+            return PlaceholderResult.value(Text.literal(NumberFormatter.fixed(tps, decimals)).formatted(tps > 19 ? Formatting.GREEN : tps > 16 ? Formatting.GOLD : Formatting.RED), tps);
         });
 
-        Placeholders.register(new Identifier("server", "mspt"), (ctx, arg) -> PlaceholderResult.value(String.format("%.0f", ctx.server().getTickTime())));
+        Placeholders.register(new Identifier("server", "mspt"), (ctx, arg) -> PlaceholderResult.value(ctx.server().getTickTime(), 0));
 
         Placeholders.register(new Identifier("server", "mspt_colored"), (ctx, arg) -> {
             float x = ctx.server().getTickTime();
-            return PlaceholderResult.value(Text.literal(String.format("%.0f", x)).formatted(x < 45 ? Formatting.GREEN : x < 51 ? Formatting.GOLD : Formatting.RED));
+            return PlaceholderResult.value(Text.literal(NumberFormatter.fixed(x, 0)).formatted(x < 45 ? Formatting.GREEN : x < 51 ? Formatting.GOLD : Formatting.RED), (double) x);
+        });
+
+        Placeholders.register(new Identifier("server", "tps_avg"), (ctx, arg) -> {
+            var window = TickTimeSampler.Window.byName(arg);
+            if (window == null) {
+                return PlaceholderResult.invalid("Invalid window");
+            }
+
+            return PlaceholderResult.value(TickTimeSampler.get(ctx.server()).averageTps(window), 1);
         });
 
+        Placeholders.register(new Identifier("server", "mspt_percentile"), (ctx, arg) -> {
+            if (arg == null) {
+                return PlaceholderResult.invalid("No percentile");
+            }
+
+            var args = arg.split(" ", 2);
+            TickTimeSampler.Window window = TickTimeSampler.Window.byName(args.length == 2 ? args[1] : null);
+            int percentile;
+            try {
+                percentile = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                percentile = -1;
+            }
+
+            if (window == null || percentile < 0 || percentile > 100) {
+                return PlaceholderResult.invalid("Invalid argument");
+            }
+
+            return PlaceholderResult.value(TickTimeSampler.get(ctx.server()).msptPercentile(window, percentile), 1);
+        });
 
         Placeholders.register(new Identifier("server", "time"), (ctx, arg) -> {
             SimpleDateFormat format = new SimpleDateFormat(arg != null ? arg : "HH:mm:ss");
-            return PlaceholderResult.value(format.format(new Date(System.currentTimeMillis())));
+            var time = format.format(new Date(System.currentTimeMillis()));
+            // Custom formats can contain text formatting, so they are still parsed
+            return arg != null ? PlaceholderResult.value(time) : PlaceholderResult.literal(time);
         });
 
-        Placeholders.register(new Identifier("server", "version"), (ctx, arg) -> PlaceholderResult.value(ctx.server().getVersion()));
+        Placeholders.register(new Identifier("server", "version"), (ctx, arg) -> PlaceholderResult.literal(ctx.server().getVersion()));
 
         Placeholders.register(new Identifier("server", "mod_version"), (ctx, arg) -> {
             if (arg != null) {
@@ -97,25 +109,24 @@ public class ServerPlaceholders {
 
         Placeholders.register(new Identifier("server", "name"), (ctx, arg) -> PlaceholderResult.value(ctx.server().getName()));
 
-        Placeholders.register(new Identifier("server", "used_ram"), (ctx, arg) -> {
-            MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
-            MemoryUsage heapUsage = memoryMXBean.getHeapMemoryUsage();
+        Placeholders.register(new Identifier("server", "used_ram"), (ctx, arg) -> formatMemory(MetricsSampler.get(ctx.server()).heapUsed(), arg));
+        Placeholders.register(new Identifier("server", "max_ram"), (ctx, arg) -> formatMemory(MetricsSampler.get(ctx.server()).heapMax(), arg));
+        Placeholders.register(new Identifier("server", "allocated_ram"), (ctx, arg) -> formatMemory(MetricsSampler.get(ctx.server()).heapCommitted(), arg));
+        Placeholders.register(new Identifier("server", "non_heap_ram"), (ctx, arg) -> formatMemory(MetricsSampler.get(ctx.server()).nonHeapUsed(), arg));
 
-            return PlaceholderResult.value(Objects.equals(arg, "gb")
-                    ? String.format("%.1f", (float) heapUsage.getUsed() / 1073741824)
-                    : String.format("%d", heapUsage.getUsed() / 1048576));
-            });
+        Placeholders.register(new Identifier("server", "gc_count"), (ctx, arg) -> PlaceholderResult.value(MetricsSampler.get(ctx.server()).gcCount()));
+        Placeholders.register(new Identifier("server", "gc_time"), (ctx, arg) -> PlaceholderResult.value(MetricsSampler.get(ctx.server()).gcTime()));
+        Placeholders.register(new Identifier("server", "threads"), (ctx, arg) -> PlaceholderResult.value(MetricsSampler.get(ctx.server()).threadCount()));
+        Placeholders.register(new Identifier("server", "cpu"), (ctx, arg) -> PlaceholderResult.value(MetricsSampler.get(ctx.server()).processCpuLoad() * 100, 1));
+        Placeholders.register(new Identifier("server", "loaded_chunks"), (ctx, arg) -> PlaceholderResult.value(MetricsSampler.get(ctx.server()).loadedChunks()));
 
-        Placeholders.register(new Identifier("server", "max_ram"), (ctx, arg) -> {
-                    MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
-                    MemoryUsage heapUsage = memoryMXBean.getHeapMemoryUsage();
-
-                    return PlaceholderResult.value(Objects.equals(arg, "gb")
-                            ? String.format("%.1f", (float) heapUsage.getMax() / 1073741824)
-                            : String.format("%d", heapUsage.getMax() / 1048576));
-                });
+        Placeholders.register(new Identifier("server", "online"), (ctx, arg) -> PlaceholderResult.value(ctx.server().getPlayerManager().getCurrentPlayerCount()));
+        Placeholders.register(new Identifier("server", "max_players"), (ctx, arg) -> PlaceholderResult.value(ctx.server().getPlayerManager().getMaxPlayerCount()));
+    }
 
-        Placeholders.register(new Identifier("server", "online"), (ctx, arg) -> PlaceholderResult.value(String.valueOf(ctx.server().getPlayerManager().getCurrentPlayerCount())));
-        Placeholders.register(new Identifier("server", "max_players"), (ctx, arg) -> PlaceholderResult.value(String.valueOf(ctx.server().getPlayerManager().getMaxPlayerCount())));
+    private static PlaceholderResult formatMemory(long bytes, String arg) {
+        return Objects.equals(arg, "gb")
+                ? PlaceholderResult.value((float) bytes / 1073741824, 1)
+                : PlaceholderResult.value(bytes / 1048576);
     }
 }
@@ -0,0 +1,46 @@
+package eu.pb4.placeholders.impl.placeholder.builtin;
+
+import com.google.common.collect.MapMaker;
+import eu.pb4.placeholders.impl.GeneralUtils;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+
+import java.util.Map;
+
+/**
+ * Keeps last visual (hover and click less) variants of player names.
+ * Names are recreated by vanilla on every call, so cached entry is reused as long as source stays equal.
+ * Output can be the source itself, so every call returns its own copy of it.
+ */
+final class VisualNameCache {
+    private static final Map<ServerPlayerEntity, VisualNameCache> CACHE = new MapMaker().weakKeys().makeMap();
+
+    private volatile Entry name;
+    private volatile Entry displayName;
+
+    private VisualNameCache() {}
+
+    public static Text name(ServerPlayerEntity player) {
+        var cache = CACHE.computeIfAbsent(player, x -> new VisualNameCache());
+        var entry = get(cache.name, player.getName());
+        cache.name = entry;
+        return entry.output.copy();
+    }
+
+    public static Text displayName(ServerPlayerEntity player) {
+        var cache = CACHE.computeIfAbsent(player, x -> new VisualNameCache());
+        var entry = get(cache.displayName, player.getDisplayName());
+        cache.displayName = entry;
+        return entry.output.copy();
+    }
+
+    private static Entry get(Entry entry, Text source) {
+        if (entry != null && (entry.source == source || entry.source.equals(source))) {
+            return entry;
+        }
+
+        return new Entry(source, GeneralUtils.removeHoverAndClick(source));
+    }
+
+    private record Entry(Text source, Text output) {}
+}
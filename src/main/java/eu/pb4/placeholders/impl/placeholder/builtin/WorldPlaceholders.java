@@ -2,12 +2,9 @@ package eu.pb4.placeholders.impl.placeholder.builtin;
 
 import eu.pb4.placeholders.api.PlaceholderResult;
 import eu.pb4.placeholders.api.Placeholders;
-import net.minecraft.entity.SpawnGroup;
+import eu.pb4.placeholders.impl.format.NumberFormatter;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.text.Text;
-import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
-import net.minecraft.world.SpawnHelper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +24,11 @@ public class WorldPlaceholders {
 
             long dayTime = (long) (world.getTimeOfDay() * 3.6 / 60);
 
-            return PlaceholderResult.value(String.format("%02d:%02d", (dayTime / 60 + 6) % 24, dayTime % 60));
+            var builder = NumberFormatter.buffer();
+            NumberFormatter.appendPadded(builder, (dayTime / 60 + 6) % 24, 2);
+            builder.append(':');
+            NumberFormatter.appendPadded(builder, dayTime % 60, 2);
+            return PlaceholderResult.literal(builder.toString());
         });
 
         Placeholders.register(new Identifier("world", "time_alt"), (ctx, arg) -> {
@@ -44,7 +45,12 @@ public class WorldPlaceholders {
             if (y == 0) {
                 y = 12;
             }
-            return PlaceholderResult.value(String.format("%02d:%02d %s", y, dayTime % 60, x > 11 ? "PM" : "AM" ));
+            var builder = NumberFormatter.buffer();
+            NumberFormatter.appendPadded(builder, y, 2);
+            builder.append(':');
+            NumberFormatter.appendPadded(builder, dayTime % 60, 2);
+            builder.append(x > 11 ? " PM" : " AM");
+            return PlaceholderResult.literal(builder.toString());
         });
 
         Placeholders.register(new Identifier("world", "day"), (ctx, arg) -> {
@@ -55,7 +61,7 @@ public class WorldPlaceholders {
                 world = ctx.server().getOverworld();
             }
 
-            return PlaceholderResult.value("" + world.getTimeOfDay() / 24000);
+            return PlaceholderResult.value(world.getTimeOfDay() / 24000);
         });
 
         Placeholders.register(new Identifier("world", "id"), (ctx, arg) -> {
@@ -66,7 +72,7 @@ public class WorldPlaceholders {
                 world = ctx.server().getOverworld();
             }
 
-            return PlaceholderResult.value(world.getRegistryKey().getValue().toString());
+            return PlaceholderResult.literal(world.getRegistryKey().getValue().toString());
         });
 
         Placeholders.register(new Identifier("world", "name"), (ctx, arg) -> {
@@ -85,7 +91,7 @@ public class WorldPlaceholders {
                     parts.add(String.join("", s));
                 }
             }
-            return PlaceholderResult.value(String.join(" ", parts));
+            return PlaceholderResult.literal(String.join(" ", parts));
         });
 
 
@@ -98,7 +104,7 @@ public class WorldPlaceholders {
                 world = ctx.server().getOverworld();
             }
 
-            return PlaceholderResult.value("" + world.getPlayers().size());
+            return PlaceholderResult.value(WorldStatistics.get(world).playerCount);
         });
 
         Placeholders.register(new Identifier("world", "mob_count_colored"), (ctx, arg) -> {
@@ -109,33 +115,7 @@ public class WorldPlaceholders {
                 world = ctx.server().getOverworld();
             }
 
-            SpawnHelper.Info info = world.getChunkManager().getSpawnInfo();
-
-            SpawnGroup spawnGroup = null;
-            if (arg != null) {
-                spawnGroup = SpawnGroup.valueOf(arg.toUpperCase(Locale.ROOT));
-            }
-
-            if (spawnGroup != null) {
-                int count = info.getGroupToCount().getInt(spawnGroup);
-                int cap = spawnGroup.getCapacity() * info.getSpawningChunkCount() / CHUNK_AREA;
-
-                return PlaceholderResult.value(count > 0 ? Text.literal("" + count).formatted(count > cap ? Formatting.LIGHT_PURPLE : count > 0.8 * cap ? Formatting.RED : count > 0.5 * cap ? Formatting.GOLD : Formatting.GREEN) : Text.literal("-").formatted(Formatting.GRAY));
-            } else {
-                int cap = 0;
-
-                for (SpawnGroup group : SpawnGroup.values()) {
-                    cap += group.getCapacity();
-                }
-                cap = cap * info.getSpawningChunkCount() / CHUNK_AREA;
-
-                int count = 0;
-
-                for (int value : info.getGroupToCount().values()) {
-                    count += value;
-                }
-                return PlaceholderResult.value(count > 0 ? Text.literal("" + count).formatted(count > cap ? Formatting.LIGHT_PURPLE : count > 0.8 * cap ? Formatting.RED : count > 0.5 * cap ? Formatting.GOLD : Formatting.GREEN) : Text.literal("-").formatted(Formatting.GRAY));
-            }
+            return PlaceholderResult.value(WorldStatistics.get(world).coloredCount(WorldStatistics.index(arg)));
         });
 
         Placeholders.register(new Identifier("world", "mob_count"), (ctx, arg) -> {
@@ -146,23 +126,7 @@ public class WorldPlaceholders {
                 world = ctx.server().getOverworld();
             }
 
-            SpawnHelper.Info info = world.getChunkManager().getSpawnInfo();
-
-            SpawnGroup spawnGroup = null;
-            if (arg != null) {
-                spawnGroup = SpawnGroup.valueOf(arg.toUpperCase(Locale.ROOT));
-            }
-
-            if (spawnGroup != null) {
-                return PlaceholderResult.value("" + info.getGroupToCount().getInt(spawnGroup));
-            } else {
-                int x = 0;
-
-                for (int value : info.getGroupToCount().values()) {
-                    x += value;
-                }
-                return PlaceholderResult.value("" + x);
-            }
+            return PlaceholderResult.value(WorldStatistics.get(world).count(WorldStatistics.index(arg)));
         });
 
         Placeholders.register(new Identifier("world", "mob_cap"), (ctx, arg) -> {
@@ -173,23 +137,7 @@ public class WorldPlaceholders {
                 world = ctx.server().getOverworld();
             }
 
-            SpawnHelper.Info info = world.getChunkManager().getSpawnInfo();
-
-            SpawnGroup spawnGroup = null;
-            if (arg != null) {
-                spawnGroup = SpawnGroup.valueOf(arg.toUpperCase(Locale.ROOT));
-            }
-
-            if (spawnGroup != null) {
-                return PlaceholderResult.value("" + spawnGroup.getCapacity() * info.getSpawningChunkCount() / CHUNK_AREA);
-            } else {
-                int x = 0;
-
-                for (SpawnGroup group : SpawnGroup.values()) {
-                    x += group.getCapacity();
-                }
-                return PlaceholderResult.value("" + x * info.getSpawningChunkCount() / CHUNK_AREA);
-            }
+            return PlaceholderResult.value(WorldStatistics.get(world).cap(WorldStatistics.index(arg)));
         });
     }
 }
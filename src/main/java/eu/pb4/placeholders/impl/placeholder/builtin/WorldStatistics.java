@@ -0,0 +1,88 @@
+package eu.pb4.placeholders.impl.placeholder.builtin;
+
+import com.google.common.collect.MapMaker;
+import net.minecraft.entity.SpawnGroup;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Snapshot of world statistics used by world placeholders. It's created lazily once per server tick,
+ * so every player showing them in the same tick shares a single computation.
+ * Values are stored by SpawnGroup ordinal, with the last index holding totals.
+ */
+final class WorldStatistics {
+    private static final Map<ServerWorld, WorldStatistics> CACHE = new MapMaker().weakKeys().makeMap();
+    private static final SpawnGroup[] GROUPS = SpawnGroup.values();
+    static final int TOTAL = GROUPS.length;
+
+    private final int tick;
+    final int playerCount;
+    private final int[] counts = new int[GROUPS.length + 1];
+    private final int[] caps = new int[GROUPS.length + 1];
+
+    private WorldStatistics(ServerWorld world, int tick) {
+        this.tick = tick;
+        this.playerCount = world.getPlayers().size();
+
+        var info = world.getChunkManager().getSpawnInfo();
+        if (info != null) {
+            var groupToCount = info.getGroupToCount();
+            var chunks = info.getSpawningChunkCount();
+
+            for (var group : GROUPS) {
+                var count = groupToCount.getInt(group);
+                var cap = group.getCapacity() * chunks / WorldPlaceholders.CHUNK_AREA;
+                this.counts[group.ordinal()] = count;
+                this.caps[group.ordinal()] = cap;
+                this.counts[TOTAL] += count;
+                this.caps[TOTAL] += group.getCapacity();
+            }
+
+            this.caps[TOTAL] = this.caps[TOTAL] * chunks / WorldPlaceholders.CHUNK_AREA;
+        }
+    }
+
+    static WorldStatistics get(ServerWorld world) {
+        var tick = world.getServer().getTicks();
+        var statistics = CACHE.get(world);
+
+        if (statistics == null || statistics.tick != tick) {
+            statistics = new WorldStatistics(world, tick);
+            CACHE.put(world, statistics);
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Returns index of provided group name, or {@link #TOTAL} if it's null.
+     */
+    static int index(String group) {
+        return group != null ? SpawnGroup.valueOf(group.toUpperCase(Locale.ROOT)).ordinal() : TOTAL;
+    }
+
+    int count(int index) {
+        return this.counts[index];
+    }
+
+    int cap(int index) {
+        return this.caps[index];
+    }
+
+    /**
+     * Creates new text for every call, as results can't share mutable text
+     */
+    Text coloredCount(int index) {
+        var count = this.counts[index];
+        if (count <= 0) {
+            return Text.literal("-").formatted(Formatting.GRAY);
+        }
+
+        var cap = this.caps[index];
+        return Text.literal(String.valueOf(count)).formatted(count > cap ? Formatting.LIGHT_PURPLE : count > 0.8 * cap ? Formatting.RED : count > 0.5 * cap ? Formatting.GOLD : Formatting.GREEN);
+    }
+}
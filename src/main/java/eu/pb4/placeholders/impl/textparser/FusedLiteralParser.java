@@ -0,0 +1,86 @@
+package eu.pb4.placeholders.impl.textparser;
+
+import eu.pb4.placeholders.api.node.LiteralNode;
+import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.api.parsers.LiteralNodeParser;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Runs multiple LiteralNodeParsers within single tree traversal. Every literal is passed through all stages in order,
+ * with later stages only seeing output of earlier ones, same as with separate traversals.
+ */
+@ApiStatus.Internal
+public final class FusedLiteralParser implements LiteralNodeParser {
+    private final LiteralNodeParser[] stages;
+    private final TriggerFilter filter;
+    @Nullable
+    private final String triggerCharacters;
+
+    public FusedLiteralParser(LiteralNodeParser[] stages) {
+        this.stages = stages;
+        this.filter = TriggerFilter.of(stages);
+        this.triggerCharacters = TriggerFilter.union(stages);
+    }
+
+    @Override
+    public TextNode @Nullable [] parseLiteral(LiteralNode literalNode) {
+        var mask = this.filter.scan(literalNode.value());
+        if (this.filter.isSkipped(mask)) {
+            return null;
+        }
+
+        TextNode[] current = null;
+
+        for (int s = 0; s < this.stages.length; s++) {
+            var stage = this.stages[s];
+
+            if (current == null) {
+                if (this.filter.isTriggered(mask, s)) {
+                    current = stage.parseLiteral(literalNode);
+                }
+                continue;
+            }
+
+            ArrayList<TextNode> out = null;
+            for (int i = 0; i < current.length; i++) {
+                var node = current[i];
+                TextNode[] parsed;
+                if (node instanceof LiteralNode literal) {
+                    parsed = TriggerFilter.isTriggered(stage.triggerCharacters(), literal.value()) ? stage.parseLiteral(literal) : null;
+                } else {
+                    parsed = stage.parseNodes(node);
+                }
+
+                if (out == null && parsed != null && (parsed.length != 1 || parsed[0] != node)) {
+                    out = new ArrayList<>(current.length + parsed.length);
+                    for (int x = 0; x < i; x++) {
+                        out.add(current[x]);
+                    }
+                }
+
+                if (out != null) {
+                    if (parsed != null) {
+                        Collections.addAll(out, parsed);
+                    } else {
+                        out.add(node);
+                    }
+                }
+            }
+
+            if (out != null) {
+                current = out.toArray(TextParserImpl.CASTER);
+            }
+        }
+
+        return current;
+    }
+
+    @Override
+    public @Nullable String triggerCharacters() {
+        return this.triggerCharacters;
+    }
+}
@@ -1,22 +1,122 @@
 package eu.pb4.placeholders.impl.textparser;
 
+import eu.pb4.placeholders.api.node.LiteralNode;
 import eu.pb4.placeholders.api.node.TextNode;
+import eu.pb4.placeholders.api.parsers.LiteralNodeParser;
 import eu.pb4.placeholders.api.parsers.NodeParser;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
-public record MergedParser(NodeParser[] parsers) implements NodeParser {
+public final class MergedParser implements NodeParser {
+    private final NodeParser[] parsers;
+    private final NodeParser[] stages;
+    private final TriggerFilter filter;
+    @Nullable
+    private final String triggerCharacters;
+
     public MergedParser(NodeParser[] parsers) {
         this.parsers = Arrays.copyOf(parsers, parsers.length);
+        this.stages = fuse(this.parsers);
+        this.filter = TriggerFilter.of(this.stages);
+        this.triggerCharacters = TriggerFilter.union(this.parsers);
+    }
+
+    public NodeParser[] parsers() {
+        return this.parsers;
     }
 
     @Override
     public TextNode[] parseNodes(TextNode input) {
+        var mask = 0L;
+        if (input instanceof LiteralNode literalNode) {
+            mask = this.filter.scan(literalNode.value());
+            if (this.filter.isSkipped(mask)) {
+                return new TextNode[]{input};
+            }
+        }
+
         var out = new TextNode[]{input};
-        for (int i = 0; i < this.parsers.length; i++) {
-            out = parsers[i].parseNodes(TextNode.asSingle(out));
+        for (int i = 0; i < this.stages.length; i++) {
+            if (out.length == 1 && out[0] == input && input instanceof LiteralNode && !this.filter.isTriggered(mask, i)) {
+                continue;
+            }
+
+            out = this.stages[i].parseNodes(TextNode.asSingle(out));
         }
 
         return out;
     }
+
+    @Override
+    public TextNode parseNode(TextNode input) {
+        var mask = 0L;
+        if (input instanceof LiteralNode literalNode) {
+            mask = this.filter.scan(literalNode.value());
+            if (this.filter.isSkipped(mask)) {
+                return input;
+            }
+        }
+
+        var node = input;
+        for (int i = 0; i < this.stages.length; i++) {
+            if (node == input && input instanceof LiteralNode && !this.filter.isTriggered(mask, i)) {
+                continue;
+            }
+
+            node = this.stages[i].parseNode(node);
+        }
+
+        return node;
+    }
+
+    @Override
+    public @Nullable String triggerCharacters() {
+        return this.triggerCharacters;
+    }
+
+    /**
+     * Groups consecutive LiteralNodeParsers, so they are executed within single traversal.
+     */
+    private static NodeParser[] fuse(NodeParser[] parsers) {
+        var stages = new ArrayList<NodeParser>();
+        var group = new ArrayList<LiteralNodeParser>();
+
+        for (var parser : parsers) {
+            if (parser instanceof LiteralNodeParser literalNodeParser) {
+                group.add(literalNodeParser);
+            } else {
+                addGroup(stages, group);
+                stages.add(parser);
+            }
+        }
+        addGroup(stages, group);
+
+        return stages.toArray(new NodeParser[0]);
+    }
+
+    private static void addGroup(ArrayList<NodeParser> stages, ArrayList<LiteralNodeParser> group) {
+        if (group.size() == 1) {
+            stages.add(group.get(0));
+        } else if (group.size() > 1) {
+            stages.add(new FusedLiteralParser(group.toArray(new LiteralNodeParser[0])));
+        }
+        group.clear();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof MergedParser parser && Arrays.equals(this.parsers, parser.parsers));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.parsers);
+    }
+
+    @Override
+    public String toString() {
+        return "MergedParser[parsers=" + Arrays.toString(this.parsers) + "]";
+    }
 }
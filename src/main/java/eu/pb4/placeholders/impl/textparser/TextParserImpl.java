@@ -1,13 +1,10 @@
 package eu.pb4.placeholders.impl.textparser;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import eu.pb4.placeholders.api.node.DirectTextNode;
 import eu.pb4.placeholders.api.node.parent.ParentTextNode;
 import eu.pb4.placeholders.api.parsers.TextParserV1;
 import eu.pb4.placeholders.api.node.TextNode;
 import eu.pb4.placeholders.api.node.LiteralNode;
-import io.netty.util.internal.UnstableApi;
 import net.minecraft.text.*;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -23,7 +20,6 @@ public class TextParserImpl {
     public static final Pattern STARTING_PATTERN = Pattern.compile("<(?<id>[^<>/]+)(?<data>([:]([']?([^'](\\\\\\\\['])?)+[']?))*)>");
     @Deprecated
     public static final List<Pair<String, String>> ESCAPED_CHARS = new ArrayList<>();
-    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().registerTypeHierarchyAdapter(Style.class, new Style.Serializer()).create();
 
     static {
         ESCAPED_CHARS.add(new Pair<>("\\", "&slsh;\002"));
@@ -190,49 +186,11 @@ public class TextParserImpl {
 
     public static final TextNode[] CASTER = new TextNode[0];
 
-    // Cursed don't touch this
+    /**
+     * Converts Text into a string that can be parsed back with TextParserV1.
+     */
     @ApiStatus.Experimental
-    @UnstableApi
     public static String convertToString(Text text) {
-        StringBuilder builder = new StringBuilder();
-        String style = GSON.toJson(text.getStyle());
-        if (style != null && !style.equals("null")) {
-            builder.append("<style:").append(style).append(">");
-        }
-        if (text.getContent() instanceof LiteralTextContent literalText) {
-            builder.append(escapeCharacters(literalText.string()));
-        } else if (text.getContent() instanceof TranslatableTextContent translatableText) {
-            List<String> stringList = new ArrayList<>();
-
-            for (Object arg : translatableText.getArgs()) {
-                if (arg instanceof Text text1) {
-                    stringList.add("'" + escapeCharacters(convertToString(text1)) + "'");
-                } else {
-                    stringList.add("'" + escapeCharacters(arg.toString()) + "'");
-                }
-            }
-
-            if (stringList.size() > 0) {
-                stringList.add(0, "");
-            }
-
-            String additional = String.join(":", stringList);
-
-            builder.append("<lang:'").append(translatableText.getKey()).append("'").append(additional).append(">");
-        } else if (text.getContent() instanceof KeybindTextContent keybindText) {
-            builder.append("<key:'").append(keybindText.getKey()).append("'>");
-        } else {
-            builder.append("<raw:'").append(escapeCharacters(Text.Serializer.toJson(text.copy()))).append("'>");
-        }
-
-        for (Text text1 : text.getSiblings()) {
-            builder.append(convertToString(text1));
-        }
-
-        if (style != null && !style.equals("null")) {
-            builder.append("</style>");
-        }
-        return builder.toString();
+        return TextTagWriter.write(text);
     }
-
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+package eu.pb4.placeholders.impl.textparser;
+
+import eu.pb4.placeholders.impl.GeneralUtils;
+import net.minecraft.text.*;
+import net.minecraft.util.Formatting;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+
+/**
+ * Writes Text as string parsable by TextParserV1, using native tags for styles and contents it has them for.
+ * Everything else (score, selector and nbt contents, entity and item hovers) is stored as a single raw_style tag.
+ * Only style changes relative to parent are written, so nested text with explicitly disabled formatting round-trips too.
+ */
+@ApiStatus.Internal
+public final class TextTagWriter {
+    private final StringBuilder builder;
+    private final ArrayList<String> closingTags = new ArrayList<>();
+
+    private TextTagWriter(StringBuilder builder) {
+        this.builder = builder;
+    }
+
+    public static String write(Text text) {
+        var builder = new StringBuilder();
+        new TextTagWriter(builder).writeText(text, Style.EMPTY);
+        return builder.toString();
+    }
+
+    private void writeText(Text text, Style parentStyle) {
+        var content = text.getContent();
+        var style = parentStyle.isEmpty() ? text.getStyle() : text.getStyle().withParent(parentStyle);
+
+        if (!this.canWrite(content) || !this.canWrite(style)) {
+            this.writeRaw(text);
+            return;
+        }
+
+        var start = this.builder.length();
+        var closingStart = this.closingTags.size();
+
+        if (!this.writeStyle(style, parentStyle)) {
+            this.builder.setLength(start);
+            this.closingTags.subList(closingStart, this.closingTags.size()).clear();
+            this.writeRaw(text);
+            return;
+        }
+
+        if (content instanceof LiteralTextContent literal) {
+            writeEscaped(this.builder, literal.string(), false);
+        } else if (content instanceof TranslatableTextContent translatable) {
+            var fallback = GeneralUtils.IS_LEGACY_TRANSLATION ? null : translatable.getFallback();
+            this.builder.append(fallback != null ? "<lang_fallback:'" : "<lang:'");
+            writeEscaped(this.builder, translatable.getKey(), true);
+            this.builder.append('\'');
+
+            if (fallback != null) {
+                this.builder.append(":'");
+                writeEscaped(this.builder, fallback, true);
+                this.builder.append('\'');
+            }
+
+            for (var arg : translatable.getArgs()) {
+                var argBuilder = new StringBuilder();
+                if (arg instanceof Text argText) {
+                    new TextTagWriter(argBuilder).writeText(argText, Style.EMPTY);
+                } else {
+                    writeEscaped(argBuilder, String.valueOf(arg), false);
+                }
+                this.builder.append(":'");
+                writeEscaped(this.builder, argBuilder, true);
+                this.builder.append('\'');
+            }
+            this.builder.append('>');
+        } else if (content instanceof KeybindTextContent keybind) {
+            this.builder.append("<key:'").append(keybind.getKey()).append("'>");
+        }
+
+        for (var sibling : text.getSiblings()) {
+            this.writeText(sibling, style);
+        }
+
+        for (int i = this.closingTags.size() - 1; i >= closingStart; i--) {
+            this.builder.append(this.closingTags.remove(i));
+        }
+    }
+
+    /**
+     * Opens tags for every part of style that differs from the parent one.
+     *
+     * @return false if some part couldn't be written as a tag
+     */
+    private boolean writeStyle(Style style, Style parent) {
+        var color = style.getColor();
+        if (color != null && !color.equals(parent.getColor())) {
+            var formatting = Formatting.byName(color.getName());
+            if (formatting != null && formatting.isColor()) {
+                this.open(formatting.getName(), null, "</" + formatting.getName() + ">");
+            } else {
+                this.open(color.getName(), null, "</color>");
+            }
+        }
+
+        this.writeFlag("b", style.isBold(), parent.isBold());
+        this.writeFlag("i", style.isItalic(), parent.isItalic());
+        this.writeFlag("u", style.isUnderlined(), parent.isUnderlined());
+        this.writeFlag("st", style.isStrikethrough(), parent.isStrikethrough());
+        this.writeFlag("obf", style.isObfuscated(), parent.isObfuscated());
+
+        if (!style.getFont().equals(parent.getFont())) {
+            this.open("font", style.getFont().toString(), "</font>");
+        }
+
+        if (style.getInsertion() != null && !style.getInsertion().equals(parent.getInsertion())) {
+            this.builder.append("<insert:'");
+            writeEscaped(this.builder, style.getInsertion(), true);
+            this.builder.append("'>");
+            this.closingTags.add("</insert>");
+        }
+
+        var clickEvent = style.getClickEvent();
+        if (clickEvent != null && !clickEvent.equals(parent.getClickEvent())) {
+            this.builder.append("<click:").append(clickEvent.getAction().getName()).append(":'");
+            writeEscaped(this.builder, clickEvent.getValue(), true);
+            this.builder.append("'>");
+            this.closingTags.add("</click>");
+        }
+
+        var hoverEvent = style.getHoverEvent();
+        if (hoverEvent != null && !hoverEvent.equals(parent.getHoverEvent())) {
+            var value = hoverEvent.getValue(HoverEvent.Action.SHOW_TEXT);
+            if (value == null) {
+                return false;
+            }
+
+            var hoverBuilder = new StringBuilder();
+            new TextTagWriter(hoverBuilder).writeText(value, Style.EMPTY);
+            // Hover value is parsed with escaping of outer tag restored, so it can't contain quotes of its own
+            if (hasUnescapedQuote(hoverBuilder)) {
+                return false;
+            }
+            this.builder.append("<hover:show_text:'").append(hoverBuilder).append("'>");
+            this.closingTags.add("</hover>");
+        }
+
+        return true;
+    }
+
+    private void writeFlag(String tag, boolean value, boolean parent) {
+        if (value != parent) {
+            this.open(tag, value ? null : "false", "</" + tag + ">");
+        }
+    }
+
+    private void open(String tag, String argument, String closing) {
+        this.builder.append('<').append(tag);
+        if (argument != null) {
+            this.builder.append(':').append(argument);
+        }
+        this.builder.append('>');
+        this.closingTags.add(closing);
+    }
+
+    private void writeRaw(Text text) {
+        var json = Text.Serializer.toJson(text);
+        this.builder.append("<raw_style:'");
+        for (int i = 0; i < json.length(); i++) {
+            var c = json.charAt(i);
+            if (c == '\'') {
+                this.builder.append('\\');
+            }
+            this.builder.append(c);
+        }
+        this.builder.append("'>");
+    }
+
+    private boolean canWrite(TextContent content) {
+        return content == TextContent.EMPTY
+                || content instanceof LiteralTextContent
+                || content instanceof TranslatableTextContent
+                || (content instanceof KeybindTextContent keybind && isPlain(keybind.getKey()));
+    }
+
+    private boolean canWrite(Style style) {
+        var hoverEvent = style.getHoverEvent();
+        return hoverEvent == null || hoverEvent.getAction() == HoverEvent.Action.SHOW_TEXT;
+    }
+
+    private static boolean hasUnescapedQuote(CharSequence string) {
+        for (int i = 0; i < string.length(); i++) {
+            var c = string.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '\'') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPlain(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (isSpecial(string.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Escapes characters with a backslash. Text content only needs tags, quotes and backslashes escaped,
+     * while tag arguments need every character used by tag syntax (see TextParserImpl.ESCAPED_CHARS).
+     */
+    private static void writeEscaped(StringBuilder builder, CharSequence string, boolean argument) {
+        var length = string.length();
+        for (int i = 0; i < length; i++) {
+            var c = string.charAt(i);
+            if (argument ? isSpecial(c) : (c == '\\' || c == '<' || c == '\'')) {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+    }
+
+    private static boolean isSpecial(char c) {
+        return switch (c) {
+            case '\\', '<', '>', '"', '\'', ':', '&', '{', '}', '$', '%' -> true;
+            default -> false;
+        };
+    }
+}
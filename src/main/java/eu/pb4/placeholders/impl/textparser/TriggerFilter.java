@@ -0,0 +1,110 @@
+package eu.pb4.placeholders.impl.textparser;
+
+import eu.pb4.placeholders.api.parsers.NodeParser;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Checks which parsers of a pipeline can modify a literal, based on their trigger characters, within single scan of it.
+ * Parsers without (or with non-ascii) trigger characters, as well as ones past 64th, are treated as always triggered.
+ */
+@ApiStatus.Internal
+public final class TriggerFilter {
+    private final long[] masks = new long[128];
+    private final long always;
+    private final long all;
+    private final boolean hasUnfiltered;
+
+    private TriggerFilter(NodeParser[] parsers) {
+        long always = 0;
+        for (int i = 0; i < Math.min(parsers.length, 64); i++) {
+            var chars = parsers[i].triggerCharacters();
+            var bit = 1L << i;
+
+            if (chars == null || !isAscii(chars)) {
+                always |= bit;
+                continue;
+            }
+
+            for (int x = 0; x < chars.length(); x++) {
+                this.masks[chars.charAt(x)] |= bit;
+            }
+        }
+
+        this.all = parsers.length >= 64 ? -1L : (1L << parsers.length) - 1;
+        this.always = always;
+        this.hasUnfiltered = always != 0 || parsers.length > 64;
+    }
+
+    public static TriggerFilter of(NodeParser[] parsers) {
+        return new TriggerFilter(parsers);
+    }
+
+    /**
+     * @return bit mask of parsers triggered by string, with bit at index of parser
+     */
+    public long scan(String string) {
+        var mask = this.always;
+        var length = string.length();
+
+        for (int i = 0; i < length && mask != this.all; i++) {
+            var c = string.charAt(i);
+            if (c < 128) {
+                mask |= this.masks[c];
+            }
+        }
+
+        return mask;
+    }
+
+    public boolean isTriggered(long mask, int index) {
+        return index >= 64 || (mask & (1L << index)) != 0;
+    }
+
+    /**
+     * @return true if no parser can modify string with provided mask
+     */
+    public boolean isSkipped(long mask) {
+        return mask == 0 && !this.hasUnfiltered;
+    }
+
+    public static boolean isTriggered(@Nullable String triggerCharacters, String string) {
+        if (triggerCharacters == null) {
+            return true;
+        }
+
+        for (int i = 0; i < triggerCharacters.length(); i++) {
+            if (string.indexOf(triggerCharacters.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    public static String union(NodeParser[] parsers) {
+        var builder = new StringBuilder();
+        for (var parser : parsers) {
+            var chars = parser.triggerCharacters();
+            if (chars == null) {
+                return null;
+            }
+
+            for (int i = 0; i < chars.length(); i++) {
+                if (builder.indexOf(String.valueOf(chars.charAt(i))) == -1) {
+                    builder.append(chars.charAt(i));
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean isAscii(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
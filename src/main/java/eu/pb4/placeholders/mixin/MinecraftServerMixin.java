@@ -0,0 +1,70 @@
+package eu.pb4.placeholders.mixin;
+
+import eu.pb4.placeholders.impl.leaderboard.LeaderboardManager;
+import eu.pb4.placeholders.impl.metrics.MetricsSampler;
+import eu.pb4.placeholders.impl.metrics.TickTimeSampler;
+import eu.pb4.placeholders.impl.placeholder.PlaceholderContextCache;
+import eu.pb4.placeholders.impl.placeholder.builtin.OfflineStatistics;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.function.BooleanSupplier;
+
+@Mixin(MinecraftServer.class)
+public abstract class MinecraftServerMixin implements TickTimeSampler.Holder, MetricsSampler.Holder, LeaderboardManager.Holder, OfflineStatistics.Holder {
+    @Shadow @Final public long[] lastTickLengths;
+    @Shadow private int ticks;
+
+    @Unique
+    private final TickTimeSampler placeholderApi$tickTimeSampler = new TickTimeSampler();
+    @Unique
+    private final MetricsSampler placeholderApi$metricsSampler = new MetricsSampler((MinecraftServer) (Object) this);
+    @Unique
+    private final LeaderboardManager placeholderApi$leaderboardManager = new LeaderboardManager((MinecraftServer) (Object) this);
+    @Unique
+    private final OfflineStatistics placeholderApi$offlineStatistics = new OfflineStatistics((MinecraftServer) (Object) this);
+
+    @Inject(method = "tick", at = @At("TAIL"))
+    private void placeholderApi$recordTickTime(BooleanSupplier shouldKeepTicking, CallbackInfo ci) {
+        this.placeholderApi$tickTimeSampler.record(this.lastTickLengths[this.ticks % this.lastTickLengths.length]);
+        this.placeholderApi$metricsSampler.tick();
+    }
+
+    @Inject(method = "save", at = @At("TAIL"))
+    private void placeholderApi$saveLeaderboards(boolean suppressLogs, boolean flush, boolean force, CallbackInfoReturnable<Boolean> cir) {
+        this.placeholderApi$leaderboardManager.save();
+    }
+
+    @Inject(method = "shutdown", at = @At("HEAD"))
+    private void placeholderApi$stop(CallbackInfo ci) {
+        this.placeholderApi$metricsSampler.stop();
+        PlaceholderContextCache.clear();
+    }
+
+    @Override
+    public TickTimeSampler placeholderApi$getTickTimeSampler() {
+        return this.placeholderApi$tickTimeSampler;
+    }
+
+    @Override
+    public MetricsSampler placeholderApi$getMetricsSampler() {
+        return this.placeholderApi$metricsSampler;
+    }
+
+    @Override
+    public LeaderboardManager placeholderApi$getLeaderboardManager() {
+        return this.placeholderApi$leaderboardManager;
+    }
+
+    @Override
+    public OfflineStatistics placeholderApi$getOfflineStatistics() {
+        return this.placeholderApi$offlineStatistics;
+    }
+}
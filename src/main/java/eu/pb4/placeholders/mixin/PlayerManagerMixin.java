@@ -0,0 +1,40 @@
+package eu.pb4.placeholders.mixin;
+
+import com.mojang.authlib.GameProfile;
+import eu.pb4.placeholders.impl.placeholder.PlaceholderContextCache;
+import net.minecraft.server.PlayerManager;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.UUID;
+
+@Mixin(PlayerManager.class)
+public abstract class PlayerManagerMixin {
+    @Shadow @Nullable public abstract ServerPlayerEntity getPlayer(UUID uuid);
+
+    @Inject(method = "remove", at = @At("TAIL"))
+    private void placeholderApi$removeCachedContext(ServerPlayerEntity player, CallbackInfo ci) {
+        PlaceholderContextCache.remove(player);
+    }
+
+    @Inject(method = "respawnPlayer", at = @At("TAIL"))
+    private void placeholderApi$removeRespawnedContext(ServerPlayerEntity player, boolean alive, CallbackInfoReturnable<ServerPlayerEntity> cir) {
+        PlaceholderContextCache.remove(player);
+    }
+
+    @Inject(method = "addToOperators", at = @At("TAIL"))
+    private void placeholderApi$invalidateOnOp(GameProfile profile, CallbackInfo ci) {
+        PlaceholderContextCache.invalidate(profile, this.getPlayer(profile.getId()));
+    }
+
+    @Inject(method = "removeFromOperators", at = @At("TAIL"))
+    private void placeholderApi$invalidateOnDeop(GameProfile profile, CallbackInfo ci) {
+        PlaceholderContextCache.invalidate(profile, this.getPlayer(profile.getId()));
+    }
+}
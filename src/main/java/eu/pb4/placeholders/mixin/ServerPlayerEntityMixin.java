@@ -0,0 +1,24 @@
+package eu.pb4.placeholders.mixin;
+
+import eu.pb4.placeholders.impl.placeholder.PlaceholderContextCache;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(ServerPlayerEntity.class)
+public abstract class ServerPlayerEntityMixin implements PlaceholderContextCache.Holder {
+    @Unique
+    @Nullable
+    private volatile PlaceholderContextCache.Entry placeholderApi$contextCache;
+
+    @Override
+    public PlaceholderContextCache.@Nullable Entry placeholderApi$getContextCache() {
+        return this.placeholderApi$contextCache;
+    }
+
+    @Override
+    public void placeholderApi$setContextCache(PlaceholderContextCache.@Nullable Entry entry) {
+        this.placeholderApi$contextCache = entry;
+    }
+}
@@ -0,0 +1,23 @@
+package eu.pb4.placeholders.mixin;
+
+import eu.pb4.placeholders.impl.leaderboard.LeaderboardManager;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.stat.ServerStatHandler;
+import net.minecraft.stat.Stat;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerStatHandler.class)
+public abstract class ServerStatHandlerMixin {
+    @Shadow @Final private MinecraftServer server;
+
+    @Inject(method = "setStat", at = @At("TAIL"))
+    private void placeholderApi$updateLeaderboard(PlayerEntity player, Stat<?> stat, int value, CallbackInfo ci) {
+        LeaderboardManager.get(this.server).update(player, stat, value);
+    }
+}
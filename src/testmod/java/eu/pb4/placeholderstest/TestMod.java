@@ -1,10 +1,12 @@
 package eu.pb4.placeholderstest;
 
+import com.google.gson.JsonParseException;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import eu.pb4.placeholders.api.ParserContext;
 import eu.pb4.placeholders.api.PlaceholderContext;
 import eu.pb4.placeholders.api.Placeholders;
+import eu.pb4.placeholders.api.TextNodeJson;
 import eu.pb4.placeholders.api.TextParserUtils;
 import eu.pb4.placeholders.api.node.LiteralNode;
 import eu.pb4.placeholders.api.node.TextNode;
@@ -19,7 +21,10 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.text.Texts;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static net.minecraft.server.command.CommandManager.literal;
 import static net.minecraft.server.command.CommandManager.argument;
@@ -233,6 +238,101 @@ public class TestMod implements ModInitializer {
         return 0;
     }
 
+    private static int testJson(CommandContext<ServerCommandSource> context) {
+        var inputs = new String[] {
+                "{\"keybind\":\"key.jump\",\"text\":\"a\"}",
+                "{\"text\":\"a\",\"keybind\":\"key.jump\"}",
+                "{\"keybind\":\"key.jump\",\"translate\":\"chat.type.text\",\"with\":[\"b\",\"c\"]}",
+                "{\"selector\":\"@p\",\"score\":{\"name\":\"@p\",\"objective\":\"obj\"},\"translate\":\"x\"}",
+                "{\"keybind\":\"key.jump\",\"selector\":\"@p\",\"separator\":{\"text\":\"|\"}}",
+                "{\"nbt\":\"Pos\",\"entity\":\"@p\",\"keybind\":\"key.jump\"}",
+                "{\"nbt\":\"Pos\",\"entity\":\"@p\",\"text\":\"a\",\"color\":\"red\"}",
+                "[{\"translate\":\"x\",\"text\":\"a\",\"bold\":true},{\"keybind\":\"key.jump\",\"text\":\"b\",\"extra\":[\"c\"]}]"
+        };
+
+        var failed = 0;
+        for (var json : inputs) {
+            try {
+                var expected = TextNode.convert(Text.Serializer.fromJson(json)).toText();
+                var actual = TextNodeJson.fromJson(json).toText();
+                if (!expected.equals(actual)) {
+                    failed++;
+                    context.getSource().sendError(Text.literal("Mismatch for " + json + ": " + Text.Serializer.toJson(actual) + " != " + Text.Serializer.toJson(expected)));
+                }
+            } catch (Exception e) {
+                failed++;
+                context.getSource().sendError(Text.literal("Error for " + json + ": " + e));
+            }
+        }
+
+        try {
+            TextNodeJson.fromJson("{\"text\":\"a\",\"font\":\"Invalid Font\"}");
+            failed++;
+            context.getSource().sendError(Text.literal("Invalid font was accepted"));
+        } catch (JsonParseException e) {
+            // Expected
+        }
+
+        context.getSource().sendFeedback(Text.literal("Json tests failed: " + failed + "/" + (inputs.length + 1)), false);
+        return failed == 0 ? 1 : 0;
+    }
+
+    private static int testMarkdown(CommandContext<ServerCommandSource> context) {
+        var cases = new String[] {
+                "*a*", "**a**", "***a***", "**a*", "*a**", "*a", "a*", "* a *", "**a *b* c**", "*a **b** c*",
+                "_a_", "__a__", "_a__", "__a_", "_a_b", "a_b_c", "__a _b_ c__", "_a *b_ c*",
+                "~~a~~", "~a~", "~~a", "~~a ~~b~~ c~~", "~~*a*~~", "*~~a*~~",
+                "||a||", "|a|", "||a", "||a *b* c||", "||a||b||c||", "|||a|||",
+                "[a](b)", "[a](b", "[a]b", "[a](b)(c)", "[*a*](b)", "[[a](b)](c)", "[a] (b)", "[a](<b>)",
+                "`a`", "``a``", "`a", "`*a*`", "*`a`*", "`a`b`c`", "`[a](b)`",
+                "\\*a*", "*a\\*", "**a\\**", "\\||a||", "a\\_b_",
+                "*_~~||`[a](b)`||~~_*", "**__~~a~~__**", "*a _b* c_", "||*a||*", "[*a](b*)"
+        };
+
+        var random = new Random(0);
+        var alphabet = "ab *_~|[]()`\\";
+        var inputs = new ArrayList<>(List.of(cases));
+        for (int i = 0; i < 2000; i++) {
+            var builder = new StringBuilder();
+            var length = 1 + random.nextInt(16);
+            for (int x = 0; x < length; x++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            inputs.add(builder.toString());
+        }
+
+        var formats = MarkdownLiteParserV1.MarkdownFormat.values();
+        var failed = 0;
+        var checked = 0;
+        for (int set = 0; set < 1 << formats.length; set++) {
+            var allowed = new ArrayList<MarkdownLiteParserV1.MarkdownFormat>();
+            for (int i = 0; i < formats.length; i++) {
+                if ((set & (1 << i)) != 0) {
+                    allowed.add(formats[i]);
+                }
+            }
+            var parser = new MarkdownLiteParserV1(allowed.toArray(new MarkdownLiteParserV1.MarkdownFormat[0]));
+            var reference = new MarkdownReferenceParser(allowed.toArray(new MarkdownLiteParserV1.MarkdownFormat[0]));
+
+            // All formats are checked with every input, other subsets only with fixed cases
+            for (var input : set == (1 << formats.length) - 1 ? inputs : List.of(cases)) {
+                checked++;
+                var expected = TextNode.asSingle(reference.parseNodes(new LiteralNode(input))).toText();
+                var actual = TextNode.asSingle(parser.parseNodes(new LiteralNode(input))).toText();
+                if (!expected.equals(actual)) {
+                    failed++;
+                    if (failed <= 10) {
+                        context.getSource().sendError(Text.literal("Mismatch for " + input + " " + allowed + ": "
+                                + Text.Serializer.toJson(actual) + " != " + Text.Serializer.toJson(expected)));
+                    }
+                }
+            }
+        }
+
+        context.getSource().sendFeedback(Text.literal("Markdown tests failed: " + failed + "/" + checked), false);
+        return failed == 0 ? 1 : 0;
+    }
+
     public void onInitialize() {
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, dedicated) -> {
             dispatcher.register(
@@ -267,6 +367,14 @@ public class TestMod implements ModInitializer {
             dispatcher.register(
                     literal("test7").executes(TestMod::test7)
             );
+
+            dispatcher.register(
+                    literal("testjson").executes(TestMod::testJson)
+            );
+
+            dispatcher.register(
+                    literal("testmarkdown").executes(TestMod::testMarkdown)
+            );
         });
     }
 